@@ -1,3 +1,5 @@
+import java.util.function.Function;
+
 /**
  * Class that implements an AVL tree which implements the MyMap interface.
  * @author Brian S. Borowski
@@ -71,7 +73,9 @@ public class AVLTreeMap<K extends Comparable<K>, V> extends BSTMap<K, V>
     /**
      * Associates the specified value with the specified key in this map. If the
      * map previously contained a mapping for the key, the old value is replaced
-     * by the specified value.
+     * by the specified value. The key is searched for iteratively, and a new
+     * node is rebalanced into the tree while walking back up the parent
+     * pointers, so nothing but the new node is allocated.
      * @param key   the key with which the specified value is to be associated
      * @param value the value to be associated with the specified key
      * @return the previous value associated with key, or null if there was no
@@ -79,113 +83,162 @@ public class AVLTreeMap<K extends Comparable<K>, V> extends BSTMap<K, V>
      */
     @Override
     public V put(K key, V value) {
-        NodeOldValuePair nvp = new NodeOldValuePair(null, null);
-        nvp = insertAndBalance(key, value, root, nvp);
-        root = nvp.node;
-        return nvp.oldValue;
+        Node<K, V> x = root, y = null;
+        int comparison = 0;
+        while (x != null) {
+            y = x;
+            comparison = key.compareTo(x.key);
+            if (comparison < 0) {
+                x = x.left;
+            } else if (comparison > 0) {
+                x = x.right;
+            } else {
+                // The key was found in the tree. Return the previous value
+                // associated with the key. There's no reason to balance.
+                V oldValue = x.value;
+                x.value = value;
+                return oldValue;
+            }
+        }
+        insertLeaf(y, comparison, key, value);
+        return null;
     }
 
     /**
-     * Removes the mapping for a key from this map if it is present.
+     * Removes the mapping for a key from this map if it is present. The node
+     * is unlinked as in BSTMap, and the tree is then rebalanced while walking
+     * back up the parent pointers from the lowest node whose subtree changed.
      * @param key key whose mapping is to be removed from the map
      * @return the previous value associated with key, or null if there was no
      *         mapping for key
      */
+    @Override
     public V remove(K key) {
-        NodeOldValuePair nvp = new NodeOldValuePair(null, null);
-        nvp = remove(key, root, nvp);
-        root = nvp.node;
-        return nvp.oldValue;
-    }
-
-    private NodeOldValuePair insertAndBalance(
-            K key, V value, Node<K, V> t, NodeOldValuePair nvp) {
-        if (t == null) {
-            size++;
-            nvp.node = new Node<>(key, value);
-            return nvp;
+        Node<K, V> z = iterativeSearch(key);
+        if (z == null) {
+            return null;
         }
-        int comparison = key.compareTo(t.key);
-        if (comparison < 0) {
-            t.left = insertAndBalance(key, value, t.left, nvp).node;
-        } else if (comparison > 0) {
-            t.right = insertAndBalance(key, value, t.right, nvp).node;
+        Node<K, V> lowest;
+        if (z.left == null || z.right == null) {
+            lowest = z.parent;
+            transplant(z, z.left != null ? z.left : z.right);
         } else {
-            // The key was found in the tree. Return the previous value
-            // associated with the key. There's no reason to balance.
-            nvp.oldValue = t.value;
-            t.value = value;
-            nvp.node = t;
-            return nvp;
+            // Replace z with its successor y, the minimum of its right
+            // subtree, which takes over z's height before rebalancing.
+            Node<K, V> y = treeMinimum(z.right);
+            if (y.parent != z) {
+                lowest = y.parent;
+                transplant(y, y.right);
+                y.right = z.right;
+                y.right.parent = y;
+            } else {
+                lowest = y;
+            }
+            transplant(z, y);
+            y.left = z.left;
+            y.left.parent = y;
+            y.height = z.height;
         }
-        nvp.node.parent = t;
-        nvp.node = balance(t);
-        return nvp;
+        size--;
+        rebalanceUpFrom(lowest);
+        return z.value;
     }
 
-    private NodeOldValuePair remove(K key, Node<K, V> t, NodeOldValuePair nvp) {
-        if (t == null) {
-            return nvp;
-        }
-        int compareResult = key.compareTo(t.key);
-        if (compareResult < 0) {
-            t.left = remove(key, t.left, nvp).node;
-            if (t.left != null) {
-                t.left.parent = t;
-            }
-        } else if (compareResult > 0) {
-            t.right = remove(key, t.right, nvp).node;
-            if (t.right != null) {
-                t.right.parent = t;
+    /**
+     * Replaces the value of the key with the result of the remapping function
+     * applied to it, passing null if the key is absent. A new key is inserted
+     * where the iterative search for it ended and rebalanced like in put. A
+     * null result leaves an absent key out of the tree and removes a present
+     * one.
+     * @param key       the key whose value is to be computed
+     * @param remapping the function that computes the new value from the old
+     * @return the new value associated with key, or null if there is none
+     */
+    @Override
+    protected V computeValue(K key,
+                             Function<? super V, ? extends V> remapping) {
+        Node<K, V> x = root, y = null;
+        int comparison = 0;
+        while (x != null) {
+            y = x;
+            comparison = key.compareTo(x.key);
+            if (comparison < 0) {
+                x = x.left;
+            } else if (comparison > 0) {
+                x = x.right;
+            } else {
+                V newValue = remapping.apply(x.value);
+                if (newValue == null) {
+                    remove(key);
+                } else {
+                    x.value = newValue;
+                }
+                return newValue;
             }
+        }
+        V newValue = remapping.apply(null);
+        if (newValue != null) {
+            insertLeaf(y, comparison, key, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Attaches a new node as the left (comparison < 0) or right child of the
+     * given parent, or as the root if the parent is null, and rebalances.
+     */
+    private void insertLeaf(Node<K, V> parent, int comparison, K key,
+                            V value) {
+        Node<K, V> z = new Node<>(key, value);
+        z.parent = parent;
+        if (parent == null) {
+            root = z;
+        } else if (comparison < 0) {
+            parent.left = z;
         } else {
-            // Store the value associated with the key and decrement the size
-            // the first time there's a match.
-            if (nvp.oldValue == null) {
-                nvp.oldValue = t.value;
-                size--;
-            }
-            if (t.left != null && t.right != null) { // Two children
-                Node<K, V> minNode = treeMinimum(t.right);
-                t.key = minNode.key;
-                t.value = minNode.value;
-                t.right = remove(t.key, t.right, nvp).node;
-                if (t.right != null) {
-                    t.right.parent = t;
-                }
-            } else if (t.left != null) {
-                t.left.parent = t.parent;
-                t = t.left;
-            } else if (t.right != null) {
-                t.right.parent = t.parent;
-                t = t.right;
-            } else {
-                t = null;
+            parent.right = z;
+        }
+        size++;
+        rebalanceUpFrom(parent);
+    }
+
+    /**
+     * Updates the heights of the given node and its ancestors, rotating
+     * wherever the balance property is violated. The walk stops at the first
+     * subtree whose height did not change, since nothing above it can have
+     * changed either.
+     */
+    private void rebalanceUpFrom(Node<K, V> t) {
+        while (t != null) {
+            int oldHeight = t.height;
+            t = balance(t);
+            if (t.height == oldHeight) {
+                return;
             }
+            t = t.parent;
         }
-        nvp.node = balance(t);
-        return nvp;
     }
 
+    /**
+     * Restores the balance property at t, whose subtrees must already be
+     * balanced, and updates its height.
+     * @return the root of the subtree that t was the root of
+     */
     private Node<K, V> balance(Node<K, V> t) {
-        if (t == null) {
-            return null;
-        }
         int heightLeft = avlHeight(t.left), heightRight = avlHeight(t.right);
         if (heightLeft - heightRight > ALLOWED_IMBALANCE) {
-            if (avlHeight(t.left.left) >= avlHeight(t.left.right)) {
-                t = rotateWithLeftChild(t);
-            } else {
-                t = doubleWithLeftChild(t);
+            if (avlHeight(t.left.left) < avlHeight(t.left.right)) {
+                rotateWithRightChild(t.left);
             }
+            t = rotateWithLeftChild(t);
         } else if (heightRight - heightLeft > ALLOWED_IMBALANCE) {
-            if (avlHeight(t.right.right) >= avlHeight(t.right.left)) {
-                t = rotateWithRightChild(t);
-            } else {
-                t = doubleWithRightChild(t);
+            if (avlHeight(t.right.right) < avlHeight(t.right.left)) {
+                rotateWithLeftChild(t.right);
             }
+            t = rotateWithRightChild(t);
+        } else {
+            t.height = Math.max(heightLeft, heightRight) + 1;
         }
-        t.height = Math.max(avlHeight(t.left), avlHeight(t.right)) + 1;
         return t;
     }
 
@@ -193,11 +246,13 @@ public class AVLTreeMap<K extends Comparable<K>, V> extends BSTMap<K, V>
         return t == null ? -1 : t.height;
     }
 
+    /**
+     * Rotates k2 with its left child k1, which takes k2's place under k2's
+     * parent (or as the root). Returns k1.
+     */
     private Node<K, V> rotateWithLeftChild(Node<K, V> k2) {
         Node<K, V> k1 = k2.left;
-        if (k2 == root) {
-            k1.parent = null;
-        }
+        transplant(k2, k1);
         k2.left = k1.right;
         if (k1.right != null) {
             k1.right.parent = k2;
@@ -209,11 +264,13 @@ public class AVLTreeMap<K extends Comparable<K>, V> extends BSTMap<K, V>
         return k1;
     }
 
+    /**
+     * Rotates k1 with its right child k2, which takes k1's place under k1's
+     * parent (or as the root). Returns k2.
+     */
     private Node<K, V> rotateWithRightChild(Node<K, V> k1) {
         Node<K, V> k2 = k1.right;
-        if (k1 == root) {
-            k2.parent = null;
-        }
+        transplant(k1, k2);
         k1.right = k2.left;
         if (k2.left != null) {
             k2.left.parent = k1;
@@ -225,26 +282,6 @@ public class AVLTreeMap<K extends Comparable<K>, V> extends BSTMap<K, V>
         return k2;
     }
 
-    private Node<K, V> doubleWithLeftChild(Node<K, V> k3) {
-        k3.left = rotateWithRightChild(k3.left);
-        return rotateWithLeftChild(k3);
-    }
-
-    private Node<K, V> doubleWithRightChild(Node<K, V> k3) {
-        k3.right = rotateWithLeftChild(k3.right);
-        return rotateWithRightChild(k3);
-    }
-
-    private class NodeOldValuePair {
-        Node<K, V> node;
-        V oldValue;
-
-        NodeOldValuePair(Node<K, V> n, V oldValue) {
-            this.node = n;
-            this.oldValue = oldValue;
-        }
-    }
-
     public static void main(String[] args) {
         boolean usingInts = true;
         if (args.length > 0) {
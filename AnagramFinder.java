@@ -1,5 +1,7 @@
 import java.io.*;
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.function.Supplier;
 
 /**
  * Class that implements a variety of methods to find the anagrams of a word in a dictionary
@@ -8,18 +10,71 @@ import java.util.Iterator;
  * @version 1.0.0 December 18, 2023
  */
 public class AnagramFinder {
+    private static final String MAPPED = "mapped"; //data structure name for a prebuilt index file
+    private static final String FROZEN = "frozen"; //data structure name for a FrozenAnagramIndex
+    private static final String PHF = "phf"; //data structure name for a PerfectHashIndex
+    private static final int AVERAGE_LINE_BYTES = 9; //dictionary.txt averages 9.5 bytes per line
+    private static final String DATA_STRUCTURES = "bst|avl|rb|btree|trie|hash|hash-oa|hash-concurrent|frozen|phf"; //for the usage message
+    private static final long PARALLEL_LOAD_BYTES = 4L * 1024 * 1024; //smallest dictionary loaded in parallel
+    private static final String HASH_PREFIX = "hash:"; //prefix choosing the HashStrategy of a hash map
+    private static final String BULK_SUFFIX = ":bulk"; //suffix building a bst, avl or rb tree from sorted groups
+    private static final int BENCH_LOOKUPS = 1_000_000; //lookups timed by the bench subcommand
+    private static final String ANY_EXTRA = "any"; //superset maximum allowing any number of extra letters
+
     /**
      *
      * Main method that drives the AnagramFinder process. It determines if the user
      * uses the method correctly, checks if the file exists, and calls to relevant methods
      * to: initialize the data structure, traverse through the dictionary, and find the anagrams
-     * @param args 3 arguments: word, dictionary file, and data Structure.
+     * @param args 3 arguments: word, dictionary file, and data Structure, or
+     *             4 arguments: index, batch, serve or bench, index file, query
+     *             file or port, dictionary file, and data structure, or
+     *             4 arguments: subanagram, letter rack, dictionary file, and
+     *             minimum word length, or 4 arguments: superset, word,
+     *             dictionary file, and the maximum number of extra letters or
+     *             "any".
      */
 
     public static void main(String[] args){
+        //prebuilt index subcommand
+        if(args.length == 4 && args[0].equals("index")){
+            buildIndexFile(args[1], args[2], args[3]);
+            return;
+        }
+
+        //batch query subcommand
+        if(args.length == 4 && args[0].equals("batch")){
+            answerBatch(args[1], args[2], args[3]);
+            return;
+        }
+
+        //resident server subcommand
+        if(args.length == 4 && args[0].equals("serve")){
+            serve(args[1], args[2], args[3]);
+            return;
+        }
+
+        //lookup benchmark subcommand
+        if(args.length == 4 && args[0].equals("bench")){
+            benchmark(args[1], args[2], args[3]);
+            return;
+        }
+
+        //letter rack subcommand
+        if(args.length == 4 && args[0].equals("subanagram")){
+            findSubanagrams(args[1], args[2], args[3]);
+            return;
+        }
+
+        //containing words subcommand
+        if(args.length == 4 && args[0].equals("superset")){
+            findSupersets(args[1], args[2], args[3]);
+            return;
+        }
+
         //parsing of command line args
         if(args.length != 3){
-            System.err.println("Usage: java AnagramFinder <word> <dictionary file> <bst|avl|hash>");
+            printUsage();
             System.exit(1); //exit with status 1 for error
         }
 
@@ -27,52 +82,448 @@ public class AnagramFinder {
         String dictionaryFile = args[1];
         String dataStructure = args[2];
 
+        //load or map the index
+        MyMap<String, MyList<String>> map = loadIndex(dictionaryFile, dataStructure);
+
+        //get anagrams
+        PrintWriter out = new PrintWriter(System.out);
+        getAnagrams(map, word, out);
+        out.flush();
+    }
+
+    /**
+     * Prints the usage message for every supported form of the command.
+     */
+    private static void printUsage(){
+        System.err.println("Usage: java AnagramFinder <word> <dictionary file> <" + DATA_STRUCTURES + ">");
+        System.err.println("       java AnagramFinder <word> <index file> mapped");
+        System.err.println("       java AnagramFinder index <index file> <dictionary file> <" + DATA_STRUCTURES + ">");
+        System.err.println("       java AnagramFinder batch <query file|-> <dictionary file|index file> <"
+                + DATA_STRUCTURES + "|mapped>");
+        System.err.println("       java AnagramFinder serve <port> <dictionary file|index file> <"
+                + DATA_STRUCTURES + "|mapped>");
+        System.err.println("       java AnagramFinder bench <query file|-> <dictionary file> <" + DATA_STRUCTURES + ">");
+        System.err.println("       java AnagramFinder subanagram <letter rack> <dictionary file> <minimum length>");
+        System.err.println("       java AnagramFinder superset <word> <dictionary file> <maximum extra letters|"
+                + ANY_EXTRA + ">");
+        System.err.println("The hash data structure may be given as hash:<" + HashStrategy.NAMES
+                + "> to choose how its keys are hashed.");
+        System.err.println("The bst, avl and rb data structures may be given as bst" + BULK_SUFFIX + ", avl"
+                + BULK_SUFFIX + " and rb" + BULK_SUFFIX + " to build a balanced tree from the sorted groups in one pass.");
+    }
+
+    /**
+     * Confirms the file and data structure, then returns the anagram map. For the
+     * mapped data structure the file is a prebuilt index that is memory-mapped,
+     * otherwise the file is a dictionary that is traversed into a new map.
+     * Exits with status 1 if either argument is invalid.
+     * @param fileName The path to the dictionary or index file.
+     * @param dataStructure The data structure type as a string.
+     * @return The map of sorted words to their anagrams.
+     */
+    private static MyMap<String, MyList<String>> loadIndex(String fileName, String dataStructure){
         //confirm dictionary file
-        File file = new File(dictionaryFile);
+        File file = new File(fileName);
         if(!file.exists() || !file.isFile()){
-            System.err.println("Error: Cannot open file '" + args[1] + "' for input.");
+            System.err.println("Error: Cannot open file '" + fileName + "' for input.");
             System.exit(1); //exit with status 1 for error
         }
 
         //confirm data structure type
-        if(!isValidDataStructure(dataStructure)){
-            System.err.println("Error: Invalid data structure '" + args[2] + "' received.");
+        if(!isValidDataStructure(dataStructure) && !dataStructure.equals(MAPPED)){
+            System.err.println("Error: Invalid data structure '" + dataStructure + "' received.");
             System.exit(1); //exit with status 1 for error
         }
 
-        //Initialization of relevant map
-        MyMap<String, MyList<String>> map = initializeDataStructure(dataStructure);
+        if(dataStructure.equals(MAPPED)){
+            try {
+                return new MappedAnagramIndex(fileName); //answers lookups from the file
+            } catch (IOException e) {
+                System.err.println("Error: Cannot read index file '" + fileName + "': " + e.getMessage());
+                System.exit(1); //exit with status 1 for error
+            }
+        }
+
+        //Initialization of relevant map, presized from the file size
+        int expectedEntries = (int)Math.min(Integer.MAX_VALUE, file.length() / AVERAGE_LINE_BYTES);
+        boolean bulk = dataStructure.endsWith(BULK_SUFFIX);
+        boolean immutable = dataStructure.equals(FROZEN) || dataStructure.equals(PHF);
+        MyMap<String, MyList<String>> map =
+                initializeDataStructure(bulk || immutable ? "hash" : dataStructure, expectedEntries);
 
         //traverse dictionary
-        traverseDictionary(map, dictionaryFile);
+        traverseDictionary(map, fileName, AnagramGroup::new); //single words are stored inline
 
-        //get anagrams
-        getAnagrams(map, word);
+        //sort every group once
+        freezeGroups(map);
+
+        if(bulk) { //groups were collected in a hash map
+            String treeType = dataStructure.substring(0, dataStructure.length() - BULK_SUFFIX.length());
+            return buildBalancedTree(treeType, map);
+        }
+        if(dataStructure.equals(FROZEN)) { //groups were collected in a hash map and never change again
+            return new FrozenAnagramIndex(map);
+        }
+        if(dataStructure.equals(PHF)) {
+            return new PerfectHashIndex(map);
+        }
+        return map;
+    }
+
+    /**
+     * Builds a bst, avl or rb tree of minimal height from finished anagram groups.
+     * The signatures are sorted, on every core for large indexes, and the tree
+     * is then created in a single createBST pass, so it needs no comparisons
+     * on insertion and no rotations.
+     * @param treeType Either "bst", "avl" or "rb".
+     * @param groups The map of sorted words to their anagrams.
+     * @return A balanced BSTMap, AVLTreeMap or RedBlackTreeMap holding the same groups.
+     */
+    private static MyMap<String, MyList<String>> buildBalancedTree(String treeType,
+                                                                   MyMap<String, MyList<String>> groups){
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Pair<String, MyList<String>>[] pairs = new Pair[groups.size()];
+        int[] count = new int[1];
+        groups.forEach((sortedWord, anagrams) -> pairs[count[0]++] = new Pair<>(sortedWord, anagrams));
+        Arrays.parallelSort(pairs, (a, b) -> a.key.compareTo(b.key)); //signatures are unique
+        if(treeType.equals("avl")){
+            return new AVLTreeMap<>(pairs, true);
+        }
+        if(treeType.equals("rb")){
+            return new RedBlackTreeMap<>(pairs, true);
+        }
+        return new BSTMap<>(pairs, true);
+    }
+
+    /**
+     * Traverses the dictionary into the designated data structure and writes the
+     * finished signature to anagram-group mapping to an index file, so later
+     * queries can map it instead of rebuilding it.
+     * @param indexFile The path of the index file to create.
+     * @param dictionaryFile The path to the dictionary file.
+     * @param dataStructure The data structure used while building the index.
+     */
+    private static void buildIndexFile(String indexFile, String dictionaryFile, String dataStructure){
+        if(!isValidDataStructure(dataStructure)){
+            System.err.println("Error: Invalid data structure '" + dataStructure + "' received.");
+            System.exit(1); //exit with status 1 for error
+        }
+        MyMap<String, MyList<String>> map = loadIndex(dictionaryFile, dataStructure);
+        try {
+            MappedAnagramIndex.write(map, indexFile);
+        } catch (IOException e) {
+            System.err.println("Error: Cannot write index file '" + indexFile + "': " + e.getMessage());
+            System.exit(1); //exit with status 1 for error
+        }
+    }
+
+    /**
+     * Builds the index once and then answers every word read from the query
+     * file, or from standard input if the file is "-", one word per line.
+     * Blank lines are skipped. Each answer is printed in the same order as the
+     * queries, under a "word:" header and followed by a blank line, and all
+     * output is buffered until the end of the input. Several queries may hit
+     * the same anagram group, so each one goes through findAnagrams, which
+     * answers from a filtered copy and leaves the stored group as it was.
+     * @param queryFile The path to the query file, or "-" for standard input.
+     * @param fileName The path to the dictionary or index file.
+     * @param dataStructure The data structure type as a string.
+     */
+    private static void answerBatch(String queryFile, String fileName, String dataStructure){
+        BufferedReader queries = null;
+        if(queryFile.equals("-")){
+            queries = new BufferedReader(new InputStreamReader(System.in));
+        } else {
+            try {
+                queries = new BufferedReader(new FileReader(queryFile));
+            } catch (FileNotFoundException e) {
+                System.err.println("Error: Cannot open file '" + queryFile + "' for input.");
+                System.exit(1); //exit with status 1 for error
+            }
+        }
+
+        MyMap<String, MyList<String>> map = loadIndex(fileName, dataStructure);
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        try (BufferedReader reader = queries){
+            String line;
+            while ((line = reader.readLine()) != null){
+                String word = line.trim();
+                if(word.isEmpty()) { //nothing to query
+                    continue;
+                }
+                out.println(word + ":"); //header separating each answer
+                getAnagrams(map, word.toLowerCase(), out);
+                out.println();
+            }
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred reading '" + queryFile + "'.");
+            System.exit(1); //exit with status 1 for error
+        } finally {
+            out.flush();
+        }
+    }
+
+    /**
+     * Builds the index once and keeps it in memory, answering queries from
+     * local clients through an AnagramServer until the process is stopped.
+     * @param port The loopback port to listen on, or 0 for any free port.
+     * @param fileName The path to the dictionary or index file.
+     * @param dataStructure The data structure type as a string.
+     */
+    private static void serve(String port, String fileName, String dataStructure){
+        int portNumber = -1;
+        try {
+            portNumber = Integer.parseInt(port);
+        } catch (NumberFormatException e) {
+            //reported below
+        }
+        if(portNumber < 0 || portNumber > 65535){
+            System.err.println("Error: Invalid port '" + port + "' received.");
+            System.exit(1); //exit with status 1 for error
+        }
+
+        MyMap<String, MyList<String>> map = loadIndex(fileName, dataStructure);
+        try (AnagramServer server = new AnagramServer(map, portNumber)){
+            System.out.println("Serving anagrams on localhost:" + server.getPort());
+            server.serve();
+        } catch (IOException e) {
+            System.err.println("Error: Cannot serve on port " + port + ": " + e.getMessage());
+            System.exit(1); //exit with status 1 for error
+        }
     }
 
     /**
-     * Returns if the data structure inputted by the user is valid (avl/bst/hash)
+     * Builds the index, times about BENCH_LOOKUPS lookups of the words read
+     * from the query file (or standard input if the file is "-"), and prints
+     * the load time, the average lookup time and, for hash maps, the
+     * chain-length histogram. The queries are run once untimed first so the
+     * JIT compiler has warmed up.
+     * @param queryFile The path to the query file, or "-" for standard input.
+     * @param fileName The path to the dictionary file.
+     * @param dataStructure The data structure type as a string.
+     */
+    private static void benchmark(String queryFile, String fileName, String dataStructure){
+        MyArrayList<String> queries = new MyArrayList<>();
+        try (BufferedReader reader = queryFile.equals("-") ? new BufferedReader(new InputStreamReader(System.in))
+                : new BufferedReader(new FileReader(queryFile))){
+            String line;
+            while ((line = reader.readLine()) != null){
+                String word = line.trim();
+                if(!word.isEmpty()) { //nothing to query
+                    queries.add(word.toLowerCase());
+                }
+            }
+        } catch (FileNotFoundException e) {
+            System.err.println("Error: Cannot open file '" + queryFile + "' for input.");
+            System.exit(1); //exit with status 1 for error
+        } catch (IOException e) {
+            System.err.println("Error: An I/O error occurred reading '" + queryFile + "'.");
+            System.exit(1); //exit with status 1 for error
+        }
+        if(queries.isEmpty()){
+            System.err.println("Error: No queries found in '" + queryFile + "'.");
+            System.exit(1); //exit with status 1 for error
+        }
+
+        long start = System.nanoTime();
+        MyMap<String, MyList<String>> map = loadIndex(fileName, dataStructure);
+        long loadNanos = System.nanoTime() - start;
+
+        int rounds = Math.max(1, BENCH_LOOKUPS / queries.size());
+        lookUpAll(map, queries, rounds); //warm-up
+        start = System.nanoTime();
+        long found = lookUpAll(map, queries, rounds);
+        long lookupNanos = System.nanoTime() - start;
+        long lookups = (long)rounds * queries.size();
+
+        System.out.println("Data structure  : " + dataStructure);
+        System.out.println("Keys            : " + map.size());
+        System.out.printf("Load time       : %.1f ms%n", loadNanos / 1e6);
+        System.out.printf("Lookup time     : %.1f ns (%d lookups, %d anagrams)%n",
+                (double)lookupNanos / lookups, lookups, found);
+        if(map instanceof MyHashMap){
+            MyHashMap<String, MyList<String>> hashMap = (MyHashMap<String, MyList<String>>)map;
+            int[] histogram = hashMap.computeChainLengthHistogram();
+            System.out.println("Table size      : " + hashMap.getTableSize());
+            System.out.printf("Load factor     : %.3f%n", hashMap.getLoadFactor());
+            System.out.println("Max chain length: " + (histogram.length - 1));
+            System.out.println("Chain length histogram:");
+            long probes = 0;
+            for(int length = 0; length < histogram.length; length++){
+                System.out.printf("%6d: %d%n", length, histogram[length]);
+                probes += (long)histogram[length] * length * (length + 1) / 2; //a chain of n costs 1..n
+            }
+            System.out.printf("Successful search cost: %.3f%n", (double)probes / map.size());
+        }
+    }
+
+    /**
+     * Prints every dictionary word that can be spelled with some of the letters
+     * of the rack, each letter used at most as often as it occurs in the rack,
+     * longest words first and then in capitalizedOrder. The dictionary is
+     * loaded into a RadixTrieMap, whose sorted signatures are searched with
+     * forEachSubsequenceOf: a branch of the trie is abandoned at the first
+     * letter the rack cannot supply, instead of looking up every subset of the
+     * rack.
+     * @param rack The letters available.
+     * @param dictionaryFile The path to the dictionary file.
+     * @param minLength The minimum length of the words to print, as a string.
+     */
+    private static void findSubanagrams(String rack, String dictionaryFile, String minLength){
+        int minimum = -1;
+        try {
+            minimum = Integer.parseInt(minLength);
+        } catch (NumberFormatException e) {
+            //reported below
+        }
+        if(minimum < 1){
+            System.err.println("Error: Invalid minimum length '" + minLength + "' received.");
+            System.exit(1); //exit with status 1 for error
+        }
+
+        @SuppressWarnings("unchecked")
+        RadixTrieMap<MyList<String>> trie = (RadixTrieMap<MyList<String>>)loadIndex(dictionaryFile, "trie");
+        String rackSignature = SignatureEngine.forCurrentThread().signature(rack); //sorts the letters of the rack
+        MyArrayList<String> words = new MyArrayList<>();
+        trie.forEachSubsequenceOf(rackSignature, minimum, (signature, anagrams) -> {
+            Iterator<String> iter = anagrams.iterator();
+            while (iter.hasNext()){
+                words.add(iter.next());
+            }
+        });
+        words.sort((a, b) -> a.length() != b.length() ? b.length() - a.length() : capitalizedOrder(a, b));
+        printWords(words);
+    }
+
+    /**
+     * Prints every dictionary word other than the given word that contains all
+     * of its letters, each at least as often, and at most maxExtra letters
+     * more unless maxExtra is "any", fewest extra letters first and then in
+     * capitalizedOrder. The anagram groups are indexed by a SupersetIndex,
+     * which intersects one bitset per distinct letter of the word instead of
+     * scanning every signature.
+     * @param word The letters every result must contain.
+     * @param dictionaryFile The path to the dictionary file.
+     * @param maxExtra The maximum number of extra letters, as a string, or "any" for no maximum.
+     */
+    private static void findSupersets(String word, String dictionaryFile, String maxExtra){
+        int maximum = -1;
+        if(maxExtra.equals(ANY_EXTRA)){
+            maximum = Integer.MAX_VALUE; //any number of extra letters
+        } else {
+            try {
+                maximum = Integer.parseInt(maxExtra);
+            } catch (NumberFormatException e) {
+                //reported below
+            }
+        }
+        if(maximum < 0){
+            System.err.println("Error: Invalid maximum number of extra letters '" + maxExtra + "' received.");
+            System.exit(1); //exit with status 1 for error
+        }
+
+        SupersetIndex index = new SupersetIndex(loadIndex(dictionaryFile, "hash"));
+        String lowercaseWord = word.toLowerCase();
+        String signature = SignatureEngine.forCurrentThread().signature(lowercaseWord); //sorts the letters of the word
+        MyArrayList<String> words = new MyArrayList<>();
+        index.forEachSuperset(signature, maximum, (containing, anagrams) -> {
+            Iterator<String> iter = anagrams.iterator();
+            while (iter.hasNext()){
+                String anagram = iter.next();
+                if(!anagram.equalsIgnoreCase(lowercaseWord)) { //leaves out the word itself, as AnagramGroup.without does
+                    words.add(anagram);
+                }
+            }
+        });
+        words.sort((a, b) -> a.length() != b.length() ? a.length() - b.length() : capitalizedOrder(a, b));
+        printWords(words);
+    }
+
+    /**
+     * Prints each word on its own line, or "No words found." if there are none.
+     * @param words The words to print.
+     */
+    private static void printWords(MyList<String> words){
+        PrintWriter out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out)));
+        if(words.isEmpty()){
+            out.println("No words found.");
+        } else {
+            Iterator<String> iter = words.iterator();
+            while (iter.hasNext()){
+                out.println(iter.next());
+            }
+        }
+        out.flush();
+    }
+
+    /**
+     * Looks up the anagrams of every query the given number of times.
+     * @param map The map containing the sorted words and their anagrams.
+     * @param queries The lowercase words to look up.
+     * @param rounds The number of times to look up each word.
+     * @return The total number of anagrams found, so the lookups cannot be skipped.
+     */
+    private static long lookUpAll(MyMap<String, MyList<String>> map, MyList<String> queries, int rounds){
+        long found = 0;
+        for(int round = 0; round < rounds; round++){
+            Iterator<String> iter = queries.iterator();
+            while (iter.hasNext()){
+                found += findAnagrams(map, iter.next()).size();
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns if the data structure inputted by the user is valid
+     * (avl/bst/rb/btree/trie/hash/hash-oa/hash-concurrent/frozen/phf, avl:bulk/bst:bulk/rb:bulk, or hash:strategy
+     * with a known HashStrategy name)
      * @param dataStructure The data structure type as a string.
      * @return true if the structure is valid, otherwise false.
      */
     private static boolean isValidDataStructure(String dataStructure){
-        return dataStructure.equals("bst") || dataStructure.equals("avl") || dataStructure.equals("hash");
+        return dataStructure.equals("bst") || dataStructure.equals("avl") || dataStructure.equals("rb")
+                || dataStructure.equals("btree") || dataStructure.equals("trie") || dataStructure.equals("hash")
+                || dataStructure.equals("hash-oa") || dataStructure.equals("hash-concurrent")
+                || dataStructure.equals(FROZEN) || dataStructure.equals(PHF)
+                || dataStructure.equals("bst" + BULK_SUFFIX) || dataStructure.equals("avl" + BULK_SUFFIX)
+                || dataStructure.equals("rb" + BULK_SUFFIX)
+                || (dataStructure.startsWith(HASH_PREFIX)
+                    && HashStrategy.forName(dataStructure.substring(HASH_PREFIX.length())) != null);
     }
 
     /**
      * Initializes and returns a map based on the designated data structure.
-     * The method supports bst, avl, and hash data structures.
+     * The method supports bst, avl, rb, btree, trie, hash, hash-oa and hash-concurrent data structures, and
+     * hash:strategy for a hash map with the named HashStrategy. Hash tables
+     * are presized so that loading the expected entries never rehashes.
      * @param dataStructure The type of the data structure to initialize.
-     * @return An instance of MyMap as either BSTMap, AVLTreeMap, or MyHashMap.
+     * @param expectedEntries The estimated number of keys the map will hold.
+     * @return An instance of MyMap as either BSTMap, AVLTreeMap, RedBlackTreeMap, BPlusTreeMap, RadixTrieMap, MyHashMap,
+     *         OpenAddressingHashMap, or ConcurrentMyHashMap.
      */
-    private static MyMap<String, MyList<String>> initializeDataStructure(String dataStructure){
+    private static MyMap<String, MyList<String>> initializeDataStructure(String dataStructure, int expectedEntries){
+        if(dataStructure.startsWith(HASH_PREFIX)){
+            HashStrategy<? super String> strategy = HashStrategy.forName(dataStructure.substring(HASH_PREFIX.length()));
+            return new MyHashMap<String, MyList<String>>(expectedEntries, strategy);
+        }
         switch(dataStructure) {
             case "bst":
                 return new BSTMap<>();
             case "avl":
                 return new AVLTreeMap<>();
+            case "rb":
+                return new RedBlackTreeMap<>();
+            case "btree":
+                return new BPlusTreeMap<>();
+            case "trie":
+                return new RadixTrieMap<>();
             case "hash":
-                return new MyHashMap<>();
+                return new MyHashMap<>(expectedEntries);
+            case "hash-oa":
+                return new OpenAddressingHashMap<>(expectedEntries);
+            case "hash-concurrent":
+                return new ConcurrentMyHashMap<>(expectedEntries);
             default:
                 throw new IllegalArgumentException("Invalid data structure.");
         }
@@ -82,22 +533,31 @@ public class AnagramFinder {
      * Traverses through dictionary by reading the words on each line and stores
      * it in a map. Converts each word into lowercase, sorts it, and uses that
      * as a key. Each original word is then added to the list of anagrams
-     * mapped to this key.
+     * mapped to this key. Keys are computed by a SignatureEngine. On multi-core
+     * machines, dictionaries of at least PARALLEL_LOAD_BYTES are split into
+     * ranges and loaded on all cores by ParallelDictionaryLoader.
      * @param map The map where the anagrams are stored.
      * @param dictionaryFile The path to the dictionary file.
+     * @param listFactory Creates the list of anagrams for each new key.
      */
-    private static void traverseDictionary(MyMap<String, MyList<String>> map, String dictionaryFile){
-        try (BufferedReader reader = new BufferedReader(new FileReader(dictionaryFile))){
-            String currentWord;
-            while ((currentWord = reader.readLine()) != null){ //while line has text
-                String sortedWord = insertionSort(currentWord.toLowerCase()); //sorts word's characters
-                MyList<String> anagrams = map.get(sortedWord); //looks up key
-                if(anagrams == null) { //if not already used
-                    anagrams = new MyLinkedList<>();
-                    map.put(sortedWord, anagrams); //make it a key
-                }
-                anagrams.add(currentWord); //maps current word to the key
+    private static void traverseDictionary(MyMap<String, MyList<String>> map, String dictionaryFile,
+                                           Supplier<MyList<String>> listFactory){
+        try {
+            if(Runtime.getRuntime().availableProcessors() > 1
+                    && new File(dictionaryFile).length() >= PARALLEL_LOAD_BYTES){
+                ParallelDictionaryLoader.load(map, dictionaryFile, listFactory); //same groups, built in parallel
+                return;
+            }
+            SignatureEngine signatures = SignatureEngine.forCurrentThread(); //reused for every line
+            try (BufferedReader reader = new BufferedReader(new FileReader(dictionaryFile))){
+                String currentWord;
+                while ((currentWord = reader.readLine()) != null){ //while line has text
+                    String sortedWord = signatures.signature(currentWord); //sorts word's lowercase characters
+                    MyList<String> anagrams = map.computeIfAbsent(sortedWord,
+                            key -> listFactory.get()); //looks up key, making it a key if not already used
+                    anagrams.add(currentWord); //maps current word to the key
 
+                }
             }
         } catch (IOException e) {
             System.err.println("Error: An I/O error occurred reading '" + dictionaryFile + "'.");
@@ -107,108 +567,76 @@ public class AnagramFinder {
     }
 
     /**
-     * Sorts each word into a lowercase collection of the characters
-     * in lexicographical order using insertion sort.
-     * @param word Word to sort.
-     * @return String containing the sorted character of the inputted word.
+     * Finalizes the index after the dictionary has been traversed by replacing
+     * every list of anagrams with an AnagramGroup sorted in the capitalizedOrder
+     * collation, so queries never have to sort.
+     * @param map The map where the anagrams are stored.
      */
-    private static String insertionSort(String word) {
-        char[] characters = word.toLowerCase().toCharArray(); //converts characters to array for easier sorting
-        int n = characters.length;
-
-        for (int i = 1; i < n; ++i) { //iterate through each element in array
-            char current = characters[i];
-            int k;
-            for (k = i - 1; k >= 0 && characters[k] > current; k--) { //if the item on the left of k is larger
-                characters[k + 1] = characters[k]; //moves value of k one spot to the right
-            }
-            characters[k + 1] = current; //once k reaches correct position, set value on right to current
-        }
-
-        return new String(characters);
+    private static void freezeGroups(MyMap<String, MyList<String>> map){
+        map.replaceAll((sortedWord, anagrams) -> AnagramGroup.freeze(anagrams));
     }
 
     /**
-     * If there are no unique anagrams, prints "No Anagrams Found." Otherwise, removes
-     * word if it exists in list, and uses insertion sort to sort the anagrams.
-     * Displays the anagrams.
+     * If there are no unique anagrams, prints "No Anagrams Found." Otherwise,
+     * displays the anagrams returned by findAnagrams.
      * @param map The map containing the sorted words and their anagrams.
      * @param word The word to find anagrams for.
+     * @param out The writer the anagrams are printed to.
      */
-    private static void getAnagrams(MyMap<String, MyList<String>> map, String word){
-        String sortedWord = insertionSort(word.toLowerCase()); //sorts characters of word
-        MyList<String> anagrams = map.get(sortedWord); //finds all mapped anagrams to the key of the sorted word
+    static void getAnagrams(MyMap<String, MyList<String>> map, String word, PrintWriter out){
+        MyList<String> anagrams = findAnagrams(map, word);
 
-        if(anagrams == null || anagrams.isEmpty() || (anagrams.size() == 1 && anagrams.get(0).equalsIgnoreCase(word))){
-            System.out.println("No anagrams found.");
+        if(anagrams.isEmpty()){
+            out.println("No anagrams found.");
         } else {
-            removeItem(anagrams, word); //remove word if it exists in list
-            insertionSort(anagrams); //insertion sorting the anagrams
             Iterator<String> anagramsIterator = anagrams.iterator();
             while (anagramsIterator.hasNext()) {
                 String anagram = anagramsIterator.next(); //displays the anagrams
-                System.out.println(anagram);
+                out.println(anagram);
             }
         }
     }
 
     /**
-     * Insertion sort of the anagrams in alphabetical order putting capitalized
-     * letters first.
-     * @param list The list of Strings to be put in order.
+     * Returns the anagrams of the word, without the word itself, in alphabetical
+     * order putting capitalized words first. Groups finalized by freezeGroups
+     * are already in that order, so they only need to be filtered; any other
+     * group is sorted into a copy by AnagramGroup.sortedCopy first. The stored
+     * group is only read, never modified, so any number of threads may query
+     * the same map concurrently, and groups still being loaded keep accepting
+     * words.
+     * @param map The map containing the sorted words and their anagrams.
+     * @param word The word to find anagrams for.
+     * @return A possibly empty list of the anagrams of the word.
      */
-    private static void insertionSort(MyList<String> list){
-        for(int i = 0; i < list.size(); i++) { //iterates through list
-            String current = list.get(i);
-            int j = i - 1;
-            while(j >= 0 && capitalizedOrder(list.get(j), current)){ //while j is not the first element and is not in the correct place
-                list.set(j+1, list.get(j)); //moves value at j to the right
-                j = j-1;
-            }
-            list.set(j+1, current); //once j reaches correct position, set value on right to current
+    static MyList<String> findAnagrams(MyMap<String, MyList<String>> map, String word){
+        String sortedWord = SignatureEngine.forCurrentThread().signature(word); //sorts characters of word
+        MyList<String> anagrams = map.get(sortedWord); //finds all mapped anagrams to the key of the sorted word
+        if(anagrams == null){
+            return new AnagramGroup(new String[0]);
         }
+        return AnagramGroup.sortedCopy(anagrams).without(word); //leaves out the word itself
     }
 
     /**
-     * Method for insertion sort that compares two strings' capitalization.
+     * Comparator that orders two strings by capitalization first.
      * Set a boolean value for the first character of both strings. Checks
      * if both have the same capitalization, and if so returns a normal
-     * alphabetical comparison. Otherwise, returns !aCapitalized,
-     * meaning if A is capitalized returns false and vice versa.
+     * alphabetical comparison, breaking ties between words that only differ in
+     * case by their characters. Otherwise, the capitalized string comes first.
      * @param a The first string to compare.
      * @param b The second string to compare.
-     * @return True if the first string comes after the second string in the list.
+     * @return A positive number if the first string comes after the second
+     *         string in the list, a negative number if it comes before, else 0.
      */
-    private static boolean capitalizedOrder(String a, String b) {
-        boolean aCapitalized = Character.isUpperCase(a.charAt(0));
-        boolean bCapitalized = Character.isUpperCase(b.charAt(0));
+    static int capitalizedOrder(String a, String b) {
+        boolean aCapitalized = !a.isEmpty() && Character.isUpperCase(a.charAt(0));
+        boolean bCapitalized = !b.isEmpty() && Character.isUpperCase(b.charAt(0));
 
         if(aCapitalized == bCapitalized) { //check if both have same capitalization
-            return a.compareToIgnoreCase(b) > 0; //just sorts in alphabetical
-        }
-        return !aCapitalized; //returns true if first string comes after second string
-    }
-
-    /**
-     * Adds all items to a temporary list except for the one to be removed.
-     * Original list is then cleared and all the items of the tempList is
-     * added to the original, removing the itemToRemove
-     * @param list The list from which to remove the item.
-     * @param itemToRemove The item to remove from the list.
-     */
-    private static void removeItem(MyList<String> list, String itemToRemove){
-        MyList<String> tempList = new MyLinkedList<>(); //creates temp list
-        for(int i = 0; i < list.size(); i++) {
-            String currentItem = list.get(i);
-            if(!currentItem.equalsIgnoreCase(itemToRemove)) {
-                tempList.add(currentItem); //creates a temp list without the item to remove
-            }
-        }
-        list.clear(); //clears list
-        Iterator<String> tempListIterator = tempList.iterator();
-        while (tempListIterator.hasNext()) {
-            String item = tempListIterator.next();
-            list.add(item); //copies temp list that has does not contain the item to remove
+            int comparison = a.compareToIgnoreCase(b); //just sorts in alphabetical
+            return comparison != 0 ? comparison : a.compareTo(b); //ties like IRA/Ira keep a fixed order
         }
+        return aCapitalized ? -1 : 1; //capitalized string comes first
     }
 }
@@ -0,0 +1,303 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Compact implementation of the MyList interface holding the words of one
+ * anagram group. Most signatures map to exactly one word, so a single word is
+ * stored inline and the group only upgrades to an array when a second anagram
+ * arrives.
+ * <p>
+ * A group is built by adding words while the dictionary is traversed, then
+ * finalized once with freeze(), which sorts the words in the capitalizedOrder
+ * collation, trims the array and makes the group immutable. Queries on a
+ * finalized group only have to filter out the input word.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.1.0 October 16, 2026
+ */
+public final class AnagramGroup implements MyList<String> {
+    // The only word when size is 1, otherwise a String[] (or null if empty).
+    private Object words;
+    private int size;
+    private boolean frozen;
+
+    /**
+     * Creates an empty group that accepts words until it is frozen.
+     */
+    public AnagramGroup() { }
+
+    /**
+     * Creates a finalized group of the given words, which must already be
+     * sorted in the capitalizedOrder collation. The array is not copied.
+     * @param sortedWords the sorted words of the group
+     */
+    AnagramGroup(String[] sortedWords) {
+        size = sortedWords.length;
+        words = size == 1 ? sortedWords[0] : sortedWords;
+        frozen = true;
+    }
+
+    /**
+     * Returns the finalized form of the given list. An AnagramGroup is frozen
+     * in place and returned; any other list is copied by sortedCopy and is
+     * not modified.
+     * @param list the words of an anagram group
+     * @return the words of the list as a finalized AnagramGroup
+     */
+    public static AnagramGroup freeze(MyList<String> list) {
+        if (list instanceof AnagramGroup) {
+            return ((AnagramGroup)list).freeze();
+        }
+        return sortedCopy(list);
+    }
+
+    /**
+     * Returns the finalized form of the given list without modifying it. A
+     * frozen AnagramGroup is returned as is; any other list is copied into a
+     * new group sorted in the capitalizedOrder collation. An unfrozen
+     * AnagramGroup may still be receiving words from another thread, so the
+     * copy holds the words it had when it was read.
+     * @param list the words of an anagram group
+     * @return the words of the list as a finalized AnagramGroup
+     */
+    public static AnagramGroup sortedCopy(MyList<String> list) {
+        String[] words;
+        if (list instanceof AnagramGroup) {
+            AnagramGroup group = (AnagramGroup)list;
+            if (group.frozen) {
+                return group;
+            }
+            words = group.snapshot();
+        } else {
+            words = new String[list.size()];
+            Iterator<String> iter = list.iterator();
+            for (int i = 0; i < words.length; i++) {
+                words[i] = iter.next();
+            }
+        }
+        Arrays.sort(words, AnagramFinder::capitalizedOrder); // stable
+        return new AnagramGroup(words);
+    }
+
+    /**
+     * Sorts the words of this group in the capitalizedOrder collation, trims
+     * the backing array to the number of words and makes the group immutable.
+     * Freezing a frozen group has no effect.
+     * @return this group
+     */
+    public AnagramGroup freeze() {
+        if (!frozen) {
+            if (size > 1) {
+                String[] array = (String[])words;
+                Arrays.sort(array, 0, size, AnagramFinder::capitalizedOrder);
+                words = size == array.length ?
+                        array : Arrays.copyOf(array, size);
+            } else if (size == 0) {
+                words = null;
+            }
+            frozen = true;
+        }
+        return this;
+    }
+
+    /**
+     * Returns the words of this group except those equal to the given word,
+     * ignoring case, as a finalized group. The order of the remaining words is
+     * preserved.
+     * @param word the word to leave out
+     * @return a group without the given word
+     */
+    public AnagramGroup without(String word) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!word(i).equalsIgnoreCase(word)) {
+                count++;
+            }
+        }
+        if (count == size && frozen) {
+            return this; // nothing to leave out
+        }
+        String[] remaining = new String[count];
+        count = 0;
+        for (int i = 0; i < size; i++) {
+            if (!word(i).equalsIgnoreCase(word)) {
+                remaining[count++] = word(i);
+            }
+        }
+        return new AnagramGroup(remaining);
+    }
+
+    // Copies the words without trusting size to match the array, which a
+    // concurrent add may have replaced or filled only partly.
+    private String[] snapshot() {
+        Object current = words;
+        if (current == null) {
+            return new String[0];
+        }
+        if (current instanceof String) {
+            return new String[] { (String)current };
+        }
+        String[] array = (String[])current;
+        int n = Math.min(size, array.length), count = 0;
+        String[] copy = new String[n];
+        for (int i = 0; i < n; i++) {
+            if (array[i] != null) {
+                copy[count++] = array[i];
+            }
+        }
+        return count == n ? copy : Arrays.copyOf(copy, count);
+    }
+
+    private String word(int index) {
+        return size == 1 ? (String)words : ((String[])words)[index];
+    }
+
+    private void checkMutable() {
+        if (frozen) {
+            throw new UnsupportedOperationException("Group is frozen.");
+        }
+    }
+
+    /**
+     * Returns the number of words in this group.
+     * @return the number of words in this group
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this group contains no words.
+     * @return true if this group contains no words
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends the specified word to the end of this group. The first word is
+     * stored inline; the second one moves both into an array, which doubles
+     * in length whenever it is full.
+     * @param element  word to be appended to this group
+     * @return true
+     * @throws UnsupportedOperationException if the group is frozen
+     */
+    @Override
+    public boolean add(String element) {
+        checkMutable();
+        if (size == 0) {
+            words = element;
+        } else if (size == 1) {
+            words = new String[] { (String)words, element };
+        } else {
+            String[] array = (String[])words;
+            if (size == array.length) {
+                array = Arrays.copyOf(array, size * 2);
+                words = array;
+            }
+            array[size] = element;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Returns the word at the specified position in this group.
+     * @param index  index of the word to return
+     * @return       the word at the specified position in this group
+     * @throws       IndexOutOfBoundsException - if the index is out of range
+     *               (index < 0 || index >= size())
+     */
+    @Override
+    public String get(int index) {
+        checkIndex(index);
+        return word(index);
+    }
+
+    /**
+     * Replaces the word at the specified position in this group with the
+     * specified word.
+     * @param index    index of the word to replace
+     * @param element  word to be stored at the specified position
+     * @return  the word previously at the specified position in this group
+     * @throws  IndexOutOfBoundsException - if the index is out of range
+     *          (index < 0 || index >= size())
+     * @throws  UnsupportedOperationException if the group is frozen
+     */
+    @Override
+    public String set(int index, String element) {
+        checkMutable();
+        checkIndex(index);
+        String oldElement = word(index);
+        if (size == 1) {
+            words = element;
+        } else {
+            ((String[])words)[index] = element;
+        }
+        return oldElement;
+    }
+
+    /**
+     * Removes all of the words from this group.
+     * @throws UnsupportedOperationException if the group is frozen
+     */
+    @Override
+    public void clear() {
+        checkMutable();
+        words = null;
+        size = 0;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", list size: " + size);
+        }
+    }
+
+    /**
+     * Returns an iterator over the words in this group in proper sequence,
+     * which is sorted order once the group is frozen.
+     * @return an iterator over the words in this group in proper sequence
+     */
+    @Override
+    public Iterator<String> iterator() {
+        return new GroupItr();
+    }
+
+    private class GroupItr implements Iterator<String> {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        public String next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            return word(index++);
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(word(i));
+        }
+        return builder.append("]").toString();
+    }
+}
@@ -0,0 +1,165 @@
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Class for a long-running server that keeps a built anagram map in memory
+ * and answers queries over a TCP socket bound to the loopback address. Each
+ * connection is handled on its own virtual thread when the JDK provides them
+ * (Java 21 and later), otherwise on a cached pool of platform threads.
+ * <p>
+ * The protocol is line based (UTF-8): the client sends one word per line and
+ * the server replies with the same lines getAnagrams prints for that word,
+ * followed by a blank line that ends the answer. Blank request lines are
+ * ignored.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class AnagramServer implements AutoCloseable {
+    private final MyMap<String, MyList<String>> map;
+    private final ServerSocket serverSocket;
+    private final ExecutorService clients = newClientExecutor();
+
+    /**
+     * Creates a server for the given map listening on the given loopback
+     * port.
+     * @param map  the map of sorted words to their anagrams
+     * @param port the port to listen on, or 0 to pick a free port
+     * @throws IOException if the socket cannot be bound
+     */
+    public AnagramServer(MyMap<String, MyList<String>> map, int port)
+            throws IOException {
+        this.map = map;
+        this.serverSocket =
+                new ServerSocket(port, 0, InetAddress.getLoopbackAddress());
+    }
+
+    /**
+     * Returns the port the server is listening on.
+     * @return the port the server is listening on
+     */
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    /**
+     * Accepts connections until the server is closed, handing each one to
+     * its own client thread.
+     * @throws IOException if accepting a connection fails for a reason other
+     *                     than the server being closed
+     */
+    public void serve() throws IOException {
+        while (!serverSocket.isClosed()) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (serverSocket.isClosed()) {
+                    return;
+                }
+                throw e;
+            }
+            clients.execute(() -> handle(socket));
+        }
+    }
+
+    /**
+     * Stops accepting connections.
+     * @throws IOException if the socket cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        serverSocket.close();
+        clients.shutdown(); //connections already open are answered to the end
+    }
+
+    /**
+     * Returns an executor that starts a virtual thread per task on Java 21
+     * and later, or a cached platform-thread pool on older JDKs. The virtual
+     * thread factory is looked up reflectively so the class still compiles
+     * on Java 17.
+     */
+    private static ExecutorService newClientExecutor() {
+        try {
+            return (ExecutorService) Executors.class
+                    .getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newCachedThreadPool(runnable -> {
+                Thread thread = new Thread(runnable, "anagram-client");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    private void handle(Socket socket) {
+        try (Socket client = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     client.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new BufferedWriter(
+                     new OutputStreamWriter(client.getOutputStream(),
+                                            StandardCharsets.UTF_8)))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String word = line.trim();
+                if (word.isEmpty()) {
+                    continue;
+                }
+                // The query path only reads the map, so clients never wait
+                // for each other.
+                AnagramFinder.getAnagrams(map, word.toLowerCase(), out);
+                out.println();
+                out.flush();
+            }
+        } catch (IOException e) {
+            // The client went away; nothing to answer.
+        }
+    }
+
+    /**
+     * Simple loopback client to facilitate testing the server. Sends each
+     * word to the server on localhost and prints the answers.
+     * @param args the port followed by the words to query
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.err.println("Usage: java AnagramServer <port> <word>...");
+            System.exit(1);
+        }
+        int port = 0;
+        try {
+            port = Integer.parseInt(args[0]);
+        } catch (NumberFormatException nfe) {
+            System.err.println("Error: Invalid port '" + args[0] + "'.");
+            System.exit(1);
+        }
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port);
+             BufferedReader in = new BufferedReader(new InputStreamReader(
+                     socket.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(
+                     socket.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            for (int i = 1; i < args.length; i++) {
+                out.println(args[i]);
+                System.out.println(args[i] + ":");
+                String line;
+                while ((line = in.readLine()) != null && !line.isEmpty()) {
+                    System.out.println(line);
+                }
+                System.out.println();
+            }
+        } catch (IOException e) {
+            System.err.println("Error: Cannot query localhost:" + port + ": "
+                    + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
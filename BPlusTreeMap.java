@@ -0,0 +1,560 @@
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Class that implements a B+-tree which implements the MyMap interface. Each
+ * node keeps up to MAX_KEYS keys in one array, so a lookup binary searches a
+ * few wide nodes instead of following one pointer per comparison, and the
+ * tree stays only a handful of levels deep. All mappings live in the leaves,
+ * which are linked in key order for iteration.
+ * <p>
+ * Every node but the root holds at least MIN_KEYS keys. Overfull nodes are
+ * split and underfull ones borrow from or merge with a sibling, bottom-up
+ * along the path recorded during the descent.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class BPlusTreeMap<K extends Comparable<K>, V> implements MyMap<K, V> {
+    // 64 references fill a few cache lines, and a million keys need only four
+    // levels.
+    private static final int MAX_KEYS = 64, MIN_KEYS = MAX_KEYS / 2;
+    private BNode root = new LeafNode();
+    private int size, innerLevels;
+
+    /**
+     * A node of the tree. The arrays have room for one key more than allowed,
+     * so a node can be split after an insertion has overfilled it.
+     */
+    private abstract static class BNode {
+        final Object[] keys = new Object[MAX_KEYS + 1];
+        int count;
+    }
+
+    private static final class LeafNode extends BNode {
+        final Object[] values = new Object[MAX_KEYS + 1];
+        LeafNode next;
+    }
+
+    /**
+     * An inner node with count keys and count + 1 children. The keys of child
+     * i are at least keys[i - 1] and less than keys[i].
+     */
+    private static final class InnerNode extends BNode {
+        final BNode[] children = new BNode[MAX_KEYS + 2];
+    }
+
+    /**
+     * Creates an empty B+-tree map.
+     */
+    public BPlusTreeMap() { }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of levels of the tree, counting the leaves.
+     * @return the number of levels of the tree
+     */
+    public int height() {
+        return innerLevels + 1;
+    }
+
+    /**
+     * Returns the number of leaves of the tree.
+     * @return the number of leaves of the tree
+     */
+    public int leafCount() {
+        int leaves = 0;
+        for (LeafNode leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            leaves++;
+        }
+        return leaves;
+    }
+
+    /**
+     * Returns the index of the key among the first count keys, or
+     * -(insertion point) - 1 if it is not there.
+     */
+    @SuppressWarnings("unchecked")
+    private static <K extends Comparable<K>> int search(Object[] keys,
+                                                        int count, K key) {
+        int low = 0, high = count - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int comparison = key.compareTo((K)keys[mid]);
+            if (comparison > 0) {
+                low = mid + 1;
+            } else if (comparison < 0) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -low - 1;
+    }
+
+    /**
+     * Returns the index of the child of an inner node whose range holds the
+     * key.
+     */
+    private static <K extends Comparable<K>> int childIndex(InnerNode node,
+                                                            K key) {
+        int i = search(node.keys, node.count, key);
+        return i >= 0 ? i + 1 : -i - 1;
+    }
+
+    /**
+     * Descends to the leaf whose range holds the key, recording the inner
+     * node and the child index taken at each level if path is not null.
+     */
+    private LeafNode descend(K key, InnerNode[] path, int[] indexes) {
+        BNode n = root;
+        for (int level = 0; level < innerLevels; level++) {
+            InnerNode inner = (InnerNode)n;
+            int i = childIndex(inner, key);
+            if (path != null) {
+                path[level] = inner;
+                indexes[level] = i;
+            }
+            n = inner.children[i];
+        }
+        return (LeafNode)n;
+    }
+
+    private LeafNode firstLeaf() {
+        BNode n = root;
+        for (int level = 0; level < innerLevels; level++) {
+            n = ((InnerNode)n).children[0];
+        }
+        return (LeafNode)n;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(K key) {
+        LeafNode leaf = descend(key, null, null);
+        int i = search(leaf.keys, leaf.count, key);
+        return i >= 0 ? (V)leaf.values[i] : null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(K key, V value) {
+        InnerNode[] path = new InnerNode[innerLevels];
+        int[] indexes = new int[innerLevels];
+        LeafNode leaf = descend(key, path, indexes);
+        int i = search(leaf.keys, leaf.count, key);
+        if (i >= 0) {
+            V oldValue = (V)leaf.values[i];
+            leaf.values[i] = value;
+            return oldValue;
+        }
+        insert(leaf, -i - 1, key, value, path, indexes);
+        return null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped. If the key is
+     * not mapped to a value, computes one with the given function and, unless
+     * it is null, inserts it into the leaf where the search for the key ended,
+     * so the tree is descended only once.
+     * @param key             the key whose value is to be returned
+     * @param mappingFunction the function that computes a missing value
+     * @return the current (existing or computed) value associated with key,
+     *         or null if the computed value is null
+     */
+    @Override
+    public V computeIfAbsent(K key,
+                             Function<? super K, ? extends V> mappingFunction) {
+        return computeValue(key, oldValue -> oldValue != null ?
+                oldValue : mappingFunction.apply(key));
+    }
+
+    /**
+     * Associates the specified value with the specified key if it is not
+     * mapped to a value yet. Otherwise, replaces the value with the result of
+     * the given function applied to the old and the specified value, or
+     * removes the mapping if the result is null.
+     * @param key               the key with which the value is to be merged
+     * @param value             the value to use if the key is absent
+     * @param remappingFunction the function that combines an existing value
+     *                          with the specified value
+     * @return the new value associated with key, or null if there is none
+     */
+    @Override
+    public V merge(K key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return computeValue(key, oldValue -> oldValue == null ?
+                value : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * Replaces the value of the key with the result of the remapping function
+     * applied to it, passing null if the key is absent, in a single descent of
+     * the tree. A null result leaves an absent key out of the tree and removes
+     * a present one.
+     */
+    @SuppressWarnings("unchecked")
+    private V computeValue(K key, Function<? super V, ? extends V> remapping) {
+        InnerNode[] path = new InnerNode[innerLevels];
+        int[] indexes = new int[innerLevels];
+        LeafNode leaf = descend(key, path, indexes);
+        int i = search(leaf.keys, leaf.count, key);
+        if (i >= 0) {
+            V newValue = remapping.apply((V)leaf.values[i]);
+            if (newValue == null) {
+                remove(key);
+            } else {
+                leaf.values[i] = newValue;
+            }
+            return newValue;
+        }
+        V newValue = remapping.apply(null);
+        if (newValue != null) {
+            insert(leaf, -i - 1, key, newValue, path, indexes);
+        }
+        return newValue;
+    }
+
+    /**
+     * Inserts the mapping at the given position of the leaf, splitting the
+     * leaf and its ancestors on the recorded path as needed.
+     */
+    private void insert(LeafNode leaf, int pos, K key, V value,
+                        InnerNode[] path, int[] indexes) {
+        System.arraycopy(leaf.keys, pos, leaf.keys, pos + 1, leaf.count - pos);
+        System.arraycopy(leaf.values, pos, leaf.values, pos + 1,
+                leaf.count - pos);
+        leaf.keys[pos] = key;
+        leaf.values[pos] = value;
+        leaf.count++;
+        size++;
+        if (leaf.count <= MAX_KEYS) {
+            return;
+        }
+        LeafNode right = new LeafNode();
+        int half = leaf.count / 2;
+        right.count = leaf.count - half;
+        System.arraycopy(leaf.keys, half, right.keys, 0, right.count);
+        System.arraycopy(leaf.values, half, right.values, 0, right.count);
+        Arrays.fill(leaf.keys, half, leaf.count, null);
+        Arrays.fill(leaf.values, half, leaf.count, null);
+        leaf.count = half;
+        right.next = leaf.next;
+        leaf.next = right;
+        insertIntoParent(right.keys[0], right, path, indexes);
+    }
+
+    /**
+     * Adds the separator and the new right half of a split node to the parent
+     * on the recorded path, splitting the parent in turn if it overflows. A
+     * split root is replaced by a new root with the two halves as children.
+     */
+    private void insertIntoParent(Object separator, BNode right,
+                                  InnerNode[] path, int[] indexes) {
+        for (int level = innerLevels - 1; level >= 0; level--) {
+            InnerNode parent = path[level];
+            int pos = indexes[level];
+            System.arraycopy(parent.keys, pos, parent.keys, pos + 1,
+                    parent.count - pos);
+            System.arraycopy(parent.children, pos + 1, parent.children, pos + 2,
+                    parent.count - pos);
+            parent.keys[pos] = separator;
+            parent.children[pos + 1] = right;
+            parent.count++;
+            if (parent.count <= MAX_KEYS) {
+                return;
+            }
+            // The middle key moves up instead of being copied into a half.
+            InnerNode sibling = new InnerNode();
+            int mid = parent.count / 2;
+            separator = parent.keys[mid];
+            sibling.count = parent.count - mid - 1;
+            System.arraycopy(parent.keys, mid + 1, sibling.keys, 0,
+                    sibling.count);
+            System.arraycopy(parent.children, mid + 1, sibling.children, 0,
+                    sibling.count + 1);
+            Arrays.fill(parent.keys, mid, parent.count, null);
+            Arrays.fill(parent.children, mid + 1, parent.count + 1, null);
+            parent.count = mid;
+            right = sibling;
+        }
+        InnerNode newRoot = new InnerNode();
+        newRoot.keys[0] = separator;
+        newRoot.children[0] = root;
+        newRoot.children[1] = right;
+        newRoot.count = 1;
+        root = newRoot;
+        innerLevels++;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. A leaf
+     * left with fewer than MIN_KEYS keys borrows one from a sibling or is
+     * merged with it.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(K key) {
+        InnerNode[] path = new InnerNode[innerLevels];
+        int[] indexes = new int[innerLevels];
+        LeafNode leaf = descend(key, path, indexes);
+        int i = search(leaf.keys, leaf.count, key);
+        if (i < 0) {
+            return null;
+        }
+        V oldValue = (V)leaf.values[i];
+        System.arraycopy(leaf.keys, i + 1, leaf.keys, i, leaf.count - i - 1);
+        System.arraycopy(leaf.values, i + 1, leaf.values, i,
+                leaf.count - i - 1);
+        leaf.count--;
+        leaf.keys[leaf.count] = null;
+        leaf.values[leaf.count] = null;
+        size--;
+        rebalance(leaf, path, indexes);
+        return oldValue;
+    }
+
+    /**
+     * Restores the minimum fill of the given node and of its ancestors on the
+     * recorded path. Separators left behind by removed keys still bound their
+     * children correctly, so they are only replaced when keys move between
+     * siblings.
+     */
+    private void rebalance(BNode node, InnerNode[] path, int[] indexes) {
+        for (int level = innerLevels - 1;
+             level >= 0 && node.count < MIN_KEYS; level--) {
+            InnerNode parent = path[level];
+            int i = indexes[level];
+            BNode left = i > 0 ? parent.children[i - 1] : null;
+            BNode right = i < parent.count ? parent.children[i + 1] : null;
+            if (left != null && left.count > MIN_KEYS) {
+                borrowFromLeft(parent, i, left, node);
+                return;
+            }
+            if (right != null && right.count > MIN_KEYS) {
+                borrowFromRight(parent, i, node, right);
+                return;
+            }
+            if (left != null) {
+                mergeChildren(parent, i - 1, left, node);
+            } else {
+                mergeChildren(parent, i, node, right);
+            }
+            node = parent;
+        }
+        if (innerLevels > 0 && root.count == 0) {
+            root = ((InnerNode)root).children[0];
+            innerLevels--;
+        }
+    }
+
+    /**
+     * Moves the last key of left to the front of node, its right sibling,
+     * which is child i of the parent.
+     */
+    private static void borrowFromLeft(InnerNode parent, int i, BNode left,
+                                       BNode node) {
+        System.arraycopy(node.keys, 0, node.keys, 1, node.count);
+        if (node instanceof LeafNode) {
+            LeafNode leaf = (LeafNode)node, leftLeaf = (LeafNode)left;
+            System.arraycopy(leaf.values, 0, leaf.values, 1, leaf.count);
+            leaf.keys[0] = leftLeaf.keys[leftLeaf.count - 1];
+            leaf.values[0] = leftLeaf.values[leftLeaf.count - 1];
+            leftLeaf.values[leftLeaf.count - 1] = null;
+            parent.keys[i - 1] = leaf.keys[0];
+        } else {
+            InnerNode inner = (InnerNode)node, leftInner = (InnerNode)left;
+            System.arraycopy(inner.children, 0, inner.children, 1,
+                    inner.count + 1);
+            inner.keys[0] = parent.keys[i - 1];
+            inner.children[0] = leftInner.children[leftInner.count];
+            leftInner.children[leftInner.count] = null;
+            parent.keys[i - 1] = leftInner.keys[leftInner.count - 1];
+        }
+        left.keys[left.count - 1] = null;
+        left.count--;
+        node.count++;
+    }
+
+    /**
+     * Moves the first key of right to the end of node, its left sibling,
+     * which is child i of the parent.
+     */
+    private static void borrowFromRight(InnerNode parent, int i, BNode node,
+                                        BNode right) {
+        if (node instanceof LeafNode) {
+            LeafNode leaf = (LeafNode)node, rightLeaf = (LeafNode)right;
+            leaf.keys[leaf.count] = rightLeaf.keys[0];
+            leaf.values[leaf.count] = rightLeaf.values[0];
+            System.arraycopy(rightLeaf.values, 1, rightLeaf.values, 0,
+                    rightLeaf.count - 1);
+            rightLeaf.values[rightLeaf.count - 1] = null;
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            parent.keys[i] = right.keys[0];
+        } else {
+            InnerNode inner = (InnerNode)node, rightInner = (InnerNode)right;
+            inner.keys[inner.count] = parent.keys[i];
+            inner.children[inner.count + 1] = rightInner.children[0];
+            parent.keys[i] = rightInner.keys[0];
+            System.arraycopy(right.keys, 1, right.keys, 0, right.count - 1);
+            System.arraycopy(rightInner.children, 1, rightInner.children, 0,
+                    rightInner.count);
+            rightInner.children[rightInner.count] = null;
+        }
+        right.keys[right.count - 1] = null;
+        right.count--;
+        node.count++;
+    }
+
+    /**
+     * Appends right, child k + 1 of the parent, to left, child k, and removes
+     * right and the separator between them from the parent.
+     */
+    private static void mergeChildren(InnerNode parent, int k, BNode left,
+                                      BNode right) {
+        if (left instanceof LeafNode) {
+            LeafNode leftLeaf = (LeafNode)left, rightLeaf = (LeafNode)right;
+            System.arraycopy(right.keys, 0, left.keys, left.count, right.count);
+            System.arraycopy(rightLeaf.values, 0, leftLeaf.values, left.count,
+                    right.count);
+            left.count += right.count;
+            leftLeaf.next = rightLeaf.next;
+        } else {
+            InnerNode leftInner = (InnerNode)left;
+            InnerNode rightInner = (InnerNode)right;
+            left.keys[left.count] = parent.keys[k];
+            System.arraycopy(right.keys, 0, left.keys, left.count + 1,
+                    right.count);
+            System.arraycopy(rightInner.children, 0, leftInner.children,
+                    left.count + 1, right.count + 1);
+            left.count += right.count + 1;
+        }
+        System.arraycopy(parent.keys, k + 1, parent.keys, k,
+                parent.count - k - 1);
+        System.arraycopy(parent.children, k + 2, parent.children, k + 1,
+                parent.count - k - 1);
+        parent.count--;
+        parent.keys[parent.count] = null;
+        parent.children[parent.count + 1] = null;
+    }
+
+    /**
+     * Performs the given action for each key-value mapping in this map in
+     * ascending key order, walking the linked leaves.
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (LeafNode leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; i++) {
+                action.accept((K)leaf.keys[i], (V)leaf.values[i]);
+            }
+        }
+    }
+
+    /**
+     * Replaces each value in this map with the result of invoking the given
+     * function on its key and value. The shape of the tree does not change.
+     * @param function the function that computes the new value of each mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(
+            BiFunction<? super K, ? super V, ? extends V> function) {
+        for (LeafNode leaf = firstLeaf(); leaf != null; leaf = leaf.next) {
+            for (int i = 0; i < leaf.count; i++) {
+                leaf.values[i] = function.apply((K)leaf.keys[i],
+                        (V)leaf.values[i]);
+            }
+        }
+    }
+
+    public static void main(String[] args) {
+        int numKeys = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+        BPlusTreeMap<Integer, Integer> map = new BPlusTreeMap<>();
+        Random random = new Random(0);
+        int[] keys = random.ints(numKeys).distinct().toArray();
+        long expectedSum = 0;
+        for (int key : keys) {
+            map.put(key, key);
+            expectedSum += key;
+        }
+        System.out.println("Size            : " + map.size());
+        System.out.println("Height          : " + map.height());
+        System.out.println("Leaves          : " + map.leafCount());
+        System.out.printf("Average fill    : %.1f of %d keys%n",
+                (double)map.size() / map.leafCount(), MAX_KEYS);
+        System.out.println("Expected sum: " + expectedSum);
+
+        long receivedSum = 0;
+        for (int key : keys) {
+            receivedSum += map.get(key);
+        }
+        System.out.println("Received sum: " + receivedSum);
+
+        long[] iteratedSum = new long[1];
+        boolean[] ordered = {true};
+        Integer[] previous = new Integer[1];
+        map.forEach((key, value) -> {
+            iteratedSum[0] += value;
+            if (previous[0] != null && previous[0] >= key) {
+                ordered[0] = false;
+            }
+            previous[0] = key;
+        });
+        System.out.println("Received sum: " + iteratedSum[0]);
+        System.out.println("In key order    : " + ordered[0]);
+
+        receivedSum = 0;
+        for (int i = 0; i < keys.length; i += 2) {
+            receivedSum += map.remove(keys[i]);
+        }
+        for (int i = 1; i < keys.length; i += 2) {
+            receivedSum += map.get(keys[i]);
+        }
+        System.out.println("Received sum: " + receivedSum);
+        System.out.println("Size            : " + map.size());
+        System.out.println("Height          : " + map.height());
+        System.out.println("Missing keys    : " + Arrays.stream(keys)
+                .filter(k -> map.get(k) == null).count());
+    }
+}
@@ -1,4 +1,7 @@
 import java.util.Stack;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Class that implements a binary search tree which implements the MyMap
@@ -323,6 +326,122 @@ public class BSTMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         return z.value;
     }
 
+    /**
+     * Returns the value to which the specified key is mapped. If the key is
+     * not mapped to a value, computes one with the given function and, unless
+     * it is null, inserts it where the search for the key ended, so the tree
+     * is descended only once.
+     * @param key             the key whose value is to be returned
+     * @param mappingFunction the function that computes a missing value
+     * @return the current (existing or computed) value associated with key,
+     *         or null if the computed value is null
+     */
+    public V computeIfAbsent(K key,
+                             Function<? super K, ? extends V> mappingFunction) {
+        return computeValue(key, oldValue -> oldValue != null ?
+                oldValue : mappingFunction.apply(key));
+    }
+
+    /**
+     * Associates the specified value with the specified key if it is not
+     * mapped to a value yet. Otherwise, replaces the value with the result of
+     * the given function applied to the old and the specified value, or
+     * removes the mapping if the result is null.
+     * @param key               the key with which the value is to be merged
+     * @param value             the value to use if the key is absent
+     * @param remappingFunction the function that combines an existing value
+     *                          with the specified value
+     * @return the new value associated with key, or null if there is none
+     */
+    public V merge(K key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return computeValue(key, oldValue -> oldValue == null ?
+                value : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * Replaces the value of the key with the result of the remapping function
+     * applied to it, passing null if the key is absent, in a single descent of
+     * the tree. A null result leaves an absent key out of the tree and removes
+     * a present one.
+     * @param key       the key whose value is to be computed
+     * @param remapping the function that computes the new value from the old
+     * @return the new value associated with key, or null if there is none
+     */
+    protected V computeValue(K key,
+                             Function<? super V, ? extends V> remapping) {
+        Node<K, V> x = root, y = null;
+        int comparison = 0;
+        while (x != null) {
+            comparison = key.compareTo(x.key);
+            if (comparison == 0) {
+                V newValue = remapping.apply(x.value);
+                if (newValue == null) {
+                    remove(key);
+                } else {
+                    x.value = newValue;
+                }
+                return newValue;
+            }
+            y = x;
+            x = comparison < 0 ? x.left : x.right;
+        }
+        V newValue = remapping.apply(null);
+        if (newValue != null) {
+            Node<K, V> z = new Node<>(key, newValue);
+            z.parent = y;
+            if (y == null) {
+                root = z;
+            } else if (comparison < 0) {
+                y.left = z;
+            } else {
+                y.right = z;
+            }
+            size++;
+        }
+        return newValue;
+    }
+
+    /**
+     * Performs the given action for each key-value mapping in this map, visiting
+     * the Nodes with an iterative inorder traversal so that degenerate trees
+     * cannot overflow the call stack.
+     * @param action the action to be performed for each mapping
+     */
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        Stack<Node<K, V>> stack = new Stack<>();
+        Node<K, V> n = root;
+        while (n != null || !stack.empty()) {
+            while (n != null) {
+                stack.push(n);
+                n = n.left;
+            }
+            n = stack.pop();
+            action.accept(n.key, n.value);
+            n = n.right;
+        }
+    }
+
+    /**
+     * Replaces each value in this map with the result of invoking the given
+     * function on its key and value. The shape of the tree does not change.
+     * @param function the function that computes the new value of each mapping
+     */
+    public void replaceAll(
+            BiFunction<? super K, ? super V, ? extends V> function) {
+        Stack<Node<K, V>> stack = new Stack<>();
+        Node<K, V> n = root;
+        while (n != null || !stack.empty()) {
+            while (n != null) {
+                stack.push(n);
+                n = n.left;
+            }
+            n = stack.pop();
+            n.value = function.apply(n.key, n.value);
+            n = n.right;
+        }
+    }
+
     /**
      * Returns a reference to the Node whose key value is the minimum key in the
      * tree.
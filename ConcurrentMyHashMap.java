@@ -0,0 +1,416 @@
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Class for a hash map that is safe for concurrent use. The keys are split
+ * over a power-of-two number of stripes, each a MyHashMap guarded by its own
+ * read-write lock, so threads working on keys of different stripes never wait
+ * for each other and lookups in the same stripe run in parallel.
+ * <p>
+ * The upsert method finds or creates the value of a key and updates it in one
+ * atomic step, which lets several loader threads add words to the anagram
+ * groups of one shared index.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class ConcurrentMyHashMap<K extends Comparable<K>, V>
+        implements MyMap<K, V> {
+    // Enough stripes that a few dozen threads rarely share one.
+    private static final int DEFAULT_STRIPES = 64;
+    private final MyHashMap<K, V>[] stripes;
+    private final ReadWriteLock[] locks;
+    private final int stripeShift;
+
+    /**
+     * Creates an empty map with the default number of stripes.
+     */
+    public ConcurrentMyHashMap() {
+        this(0, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates an empty map with the default number of stripes, presized to
+     * hold the expected number of entries without resizing.
+     * @param expectedEntries the number of entries the map is expected to hold
+     */
+    public ConcurrentMyHashMap(int expectedEntries) {
+        this(expectedEntries, DEFAULT_STRIPES);
+    }
+
+    /**
+     * Creates an empty map presized to hold the expected number of entries
+     * without resizing, split over at least the given number of stripes.
+     * @param expectedEntries  the number of entries the map is expected to
+     *                         hold
+     * @param concurrencyLevel the number of threads expected to update the
+     *                         map at the same time
+     * @throws IllegalArgumentException if concurrencyLevel is not positive
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public ConcurrentMyHashMap(int expectedEntries, int concurrencyLevel) {
+        if (concurrencyLevel <= 0 || concurrencyLevel > 1 << 16) {
+            throw new IllegalArgumentException(
+                    "Illegal concurrency level: " + concurrencyLevel);
+        }
+        int numStripes = Integer.highestOneBit(concurrencyLevel * 2 - 1);
+        stripes = new MyHashMap[numStripes];
+        locks = new ReadWriteLock[numStripes];
+        for (int i = 0; i < numStripes; i++) {
+            stripes[i] = new MyHashMap<>(expectedEntries / numStripes);
+            locks[i] = new ReentrantReadWriteLock();
+        }
+        // The top bits of the mixed hash choose the stripe; the stripe's own
+        // table works from the low bits.
+        stripeShift = 32 - Integer.numberOfTrailingZeros(numStripes);
+    }
+
+    private int stripeFor(K key) {
+        return stripeShift == 32 ?
+                0 : HashStrategy.mix32(key.hashCode()) >>> stripeShift;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map. Stripes are
+     * counted one at a time, so the result may be stale if other threads are
+     * updating the map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        int size = 0;
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].readLock().lock();
+            try {
+                size += stripes[i].size();
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    public V get(K key) {
+        int stripe = stripeFor(key);
+        locks[stripe].readLock().lock();
+        try {
+            return stripes[stripe].get(key);
+        } finally {
+            locks[stripe].readLock().unlock();
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        int stripe = stripeFor(key);
+        locks[stripe].writeLock().lock();
+        try {
+            return stripes[stripe].put(key, value);
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        int stripe = stripeFor(key);
+        locks[stripe].writeLock().lock();
+        try {
+            return stripes[stripe].remove(key);
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped. If the key is
+     * not mapped to a value, computes one with the given function and, unless
+     * it is null, enters it into this map. The whole operation is atomic; the
+     * function runs under the lock of the key's stripe, so it must not access
+     * this map.
+     * @param key             the key whose value is to be returned
+     * @param mappingFunction the function that computes a missing value
+     * @return the current (existing or computed) value associated with key,
+     *         or null if the computed value is null
+     */
+    @Override
+    public V computeIfAbsent(K key,
+                             Function<? super K, ? extends V> mappingFunction) {
+        int stripe = stripeFor(key);
+        locks[stripe].writeLock().lock();
+        try {
+            return stripes[stripe].computeIfAbsent(key, mappingFunction);
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Associates the specified value with the specified key if it is not
+     * mapped to a value yet. Otherwise, replaces the value with the result of
+     * the given function applied to the old and the specified value, or
+     * removes the mapping if the result is null. The whole operation is
+     * atomic; the function runs under the lock of the key's stripe, so it
+     * must not access this map.
+     * @param key               the key with which the value is to be merged
+     * @param value             the value to use if the key is absent
+     * @param remappingFunction the function that combines an existing value
+     *                          with the specified value
+     * @return the new value associated with key, or null if there is none
+     */
+    @Override
+    public V merge(K key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        int stripe = stripeFor(key);
+        locks[stripe].writeLock().lock();
+        try {
+            return stripes[stripe].merge(key, value, remappingFunction);
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Atomically finds the value of the given key, creating and inserting it
+     * with the factory if the key is absent, and applies the action to it.
+     * No other thread can access the key's stripe until the action returns,
+     * so the value itself does not need to be thread-safe as long as it is
+     * only updated through this method.
+     * @param key     the key whose value is to be updated
+     * @param factory creates the value if the key is absent
+     * @param action  the update to apply to the value
+     * @return the value of the key after the update
+     */
+    public V upsert(K key, Supplier<? extends V> factory,
+                    Consumer<? super V> action) {
+        int stripe = stripeFor(key);
+        locks[stripe].writeLock().lock();
+        try {
+            V value = stripes[stripe].computeIfAbsent(key, k -> factory.get());
+            action.accept(value);
+            return value;
+        } finally {
+            locks[stripe].writeLock().unlock();
+        }
+    }
+
+    /**
+     * Performs the given action for each key-value mapping in this map, one
+     * stripe at a time. Each stripe is read-locked while it is visited, so
+     * the action must not update this map.
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].readLock().lock();
+            try {
+                stripes[i].forEach(action);
+            } finally {
+                locks[i].readLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Replaces each value in this map with the result of invoking the given
+     * function on its key and value, one stripe at a time. Each stripe is
+     * write-locked while it is updated.
+     * @param function the function that computes the new value of each mapping
+     */
+    @Override
+    public void replaceAll(
+            BiFunction<? super K, ? super V, ? extends V> function) {
+        for (int i = 0; i < stripes.length; i++) {
+            locks[i].writeLock().lock();
+            try {
+                stripes[i].replaceAll(function);
+            } finally {
+                locks[i].writeLock().unlock();
+            }
+        }
+    }
+
+    /**
+     * Stress test of the map. Several threads upsert counters for the same
+     * set of keys while another thread looks them up, and the totals are
+     * checked afterwards. The run is timed with one thread and with all of
+     * them. Then several threads load words into anagram groups, as
+     * ParallelDictionaryLoader does, while another thread queries those
+     * groups with AnagramFinder.findAnagrams.
+     * @param args the number of threads, by default the number of processors
+     *             (but at least 2)
+     */
+    public static void main(String[] args) throws InterruptedException {
+        int numThreads = args.length > 0 ? Integer.parseInt(args[0]) :
+                Math.max(2, Runtime.getRuntime().availableProcessors());
+        int numKeys = 100_000, opsPerThread = 2_000_000;
+        String[] keys = new String[numKeys];
+        for (int i = 0; i < numKeys; i++) {
+            keys[i] = "k" + i;
+        }
+        stress(numThreads, keys, opsPerThread / 4); // warm-up
+        long oneThread = stress(1, keys, opsPerThread);
+        long allThreads = stress(numThreads, keys, opsPerThread);
+        System.out.printf("1 thread   : %.1f ns per upsert%n",
+                (double)oneThread / opsPerThread);
+        System.out.printf("%d threads  : %.1f ns per upsert%n", numThreads,
+                (double)allThreads / ((long)opsPerThread * numThreads));
+        System.out.printf("Speedup    : %.2f%n",
+                (double)oneThread * numThreads / allThreads);
+        stressQueries(numThreads, opsPerThread / 4);
+    }
+
+    private static long stress(int numThreads, String[] keys, int opsPerThread)
+            throws InterruptedException {
+        ConcurrentMyHashMap<String, int[]> map = new ConcurrentMyHashMap<>();
+        Thread[] writers = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int offset = t * 7919;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < opsPerThread; i++) {
+                    map.upsert(keys[(i + offset) % keys.length],
+                               () -> new int[1], counter -> counter[0]++);
+                }
+            });
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        long[] lookups = new long[1];
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                for (String key : keys) {
+                    map.get(key);
+                    lookups[0]++;
+                }
+            }
+        });
+        long start = System.nanoTime();
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        reader.start();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        done.set(true);
+        reader.join();
+
+        long total = 0;
+        for (String key : keys) {
+            total += map.get(key)[0];
+        }
+        long expected = (long)numThreads * opsPerThread;
+        System.out.println(numThreads + " writer(s): size " + map.size()
+                + ", upserts counted " + total + " of " + expected
+                + ", concurrent lookups " + lookups[0]);
+        if (total != expected || map.size() != keys.length) {
+            throw new AssertionError("Lost updates.");
+        }
+        return elapsed;
+    }
+
+    private static void stressQueries(int numThreads, int wordsPerThread)
+            throws InterruptedException {
+        // Few signatures, so every group keeps growing while it is queried.
+        String[] signatures = new String[1_000], words = new String[1_000];
+        for (int i = 0; i < signatures.length; i++) {
+            String digits = Integer.toString(i + 100);
+            char[] letters = new char[digits.length()];
+            for (int j = 0; j < letters.length; j++) {
+                letters[j] = (char)('a' + digits.charAt(j) - '0');
+            }
+            String word = new String(letters);
+            signatures[i] = SignatureEngine.forCurrentThread().signature(word);
+            words[i] = word;
+        }
+        ConcurrentMyHashMap<String, MyList<String>> map =
+                new ConcurrentMyHashMap<>();
+        AtomicBoolean failed = new AtomicBoolean();
+        Thread[] writers = new Thread[numThreads];
+        for (int t = 0; t < numThreads; t++) {
+            int offset = t * 7919;
+            writers[t] = new Thread(() -> {
+                for (int i = 0; i < wordsPerThread; i++) {
+                    String word = words[(i + offset) % words.length];
+                    map.upsert(signatures[(i + offset) % words.length],
+                               AnagramGroup::new,
+                               anagrams -> anagrams.add(word));
+                }
+            });
+            writers[t].setUncaughtExceptionHandler((thread, e) -> {
+                e.printStackTrace();
+                failed.set(true);
+            });
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        long[] queries = new long[1];
+        Thread reader = new Thread(() -> {
+            while (!done.get()) {
+                for (String signature : signatures) {
+                    AnagramFinder.findAnagrams(map, signature);
+                    queries[0]++;
+                }
+            }
+        });
+        reader.setUncaughtExceptionHandler((thread, e) -> {
+            e.printStackTrace();
+            failed.set(true);
+        });
+        for (Thread writer : writers) {
+            writer.start();
+        }
+        reader.start();
+        for (Thread writer : writers) {
+            writer.join();
+        }
+        done.set(true);
+        reader.join();
+
+        long[] total = new long[1];
+        map.forEach((signature, anagrams) -> total[0] += anagrams.size());
+        long expected = (long)numThreads * wordsPerThread;
+        System.out.println(numThreads + " loader(s): words added " + total[0]
+                + " of " + expected + ", concurrent queries " + queries[0]);
+        if (failed.get() || total[0] != expected) {
+            throw new AssertionError("Loading failed under queries.");
+        }
+    }
+}
@@ -0,0 +1,289 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Read-only map built once from a finished signature to anagram-group map.
+ * The signatures are stored in one array in Eytzinger (breadth-first) order:
+ * the root of an implicit balanced search tree at index 1 and the children of
+ * index k at 2k and 2k + 1. The first levels of every search then share the
+ * same few cache lines, and the candidates of the next levels lie next to each
+ * other instead of being scattered across the heap like tree Nodes.
+ * <p>
+ * Alongside each signature is a long holding its first characters packed in
+ * order-preserving codes, so most comparisons of a search are one primitive
+ * comparison and the signature String is only read on a tie. The words of all
+ * groups sit in one array, group k occupying offsets[k] to offsets[k + 1].
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class FrozenAnagramIndex implements MyMap<String, MyList<String>> {
+    private final int numGroups;
+    // Indexed in Eytzinger order from 1; slot 0 is unused.
+    private final long[] prefixes;
+    private final String[] signatures;
+    private final int[] offsets;
+    private final String[] words;
+    // codes[c] is 1 + the rank of c among the characters of all signatures,
+    // or 0 if c occurs in none of them.
+    private final int[] codes;
+    private final int bitsPerChar, charsPerPrefix;
+
+    /**
+     * Builds the index from the mappings of the given map, which is not
+     * modified. Each group is stored in its finalized AnagramGroup order.
+     * @param map the map of signatures to their anagram groups
+     */
+    public FrozenAnagramIndex(MyMap<String, MyList<String>> map) {
+        numGroups = map.size();
+        Group[] sorted = new Group[numGroups];
+        int[] count = new int[1];
+        map.forEach((signature, anagrams) ->
+                sorted[count[0]++] = new Group(signature, anagrams));
+
+        boolean[] used = new boolean[Character.MAX_VALUE + 1];
+        int maxChar = 0, numWords = 0;
+        for (Group group : sorted) {
+            for (int i = 0; i < group.signature.length(); i++) {
+                char c = group.signature.charAt(i);
+                used[c] = true;
+                maxChar = Math.max(maxChar, c);
+            }
+            numWords += group.anagrams.size();
+        }
+        codes = new int[maxChar + 1];
+        int alphabetSize = 0;
+        for (int c = 0; c <= maxChar; c++) {
+            if (used[c]) {
+                codes[c] = ++alphabetSize;
+            }
+        }
+        bitsPerChar = 32 - Integer.numberOfLeadingZeros(alphabetSize);
+        charsPerPrefix = bitsPerChar == 0 ? 0 : 63 / bitsPerChar;
+        for (Group group : sorted) {
+            group.prefix = prefix(group.signature);
+        }
+        // Comparing prefixes first spares most comparisons a visit to the
+        // signature Strings, which makes the sort about three times faster.
+        Arrays.parallelSort(sorted, (a, b) -> a.prefix != b.prefix ?
+                Long.compare(a.prefix, b.prefix) :
+                a.signature.compareTo(b.signature));
+
+        prefixes = new long[numGroups + 1];
+        signatures = new String[numGroups + 1];
+        offsets = new int[numGroups + 2];
+        words = new String[numWords];
+        int[] order = new int[numGroups + 1];
+        eytzinger(order, 0, 1);
+        // Groups are laid out in Eytzinger order so offsets[k + 1] ends
+        // group k.
+        int offset = 0;
+        for (int k = 1; k <= numGroups; k++) {
+            Group group = sorted[order[k]];
+            signatures[k] = group.signature;
+            prefixes[k] = group.prefix;
+            offsets[k] = offset;
+            Iterator<String> iter =
+                    AnagramGroup.sortedCopy(group.anagrams).iterator();
+            while (iter.hasNext()) {
+                words[offset++] = iter.next();
+            }
+        }
+        offsets[numGroups + 1] = offset;
+    }
+
+    /**
+     * A mapping of the source map while the index is built.
+     */
+    private static final class Group {
+        final String signature;
+        final MyList<String> anagrams;
+        long prefix;
+
+        Group(String signature, MyList<String> anagrams) {
+            this.signature = signature;
+            this.anagrams = anagrams;
+        }
+    }
+
+    /**
+     * Assigns the sorted ranks from next onwards to the subtree rooted at k
+     * in order, and returns the next unassigned rank.
+     */
+    private int eytzinger(int[] order, int next, int k) {
+        if (k <= numGroups) {
+            next = eytzinger(order, next, 2 * k);
+            order[k] = next++;
+            next = eytzinger(order, next, 2 * k + 1);
+        }
+        return next;
+    }
+
+    /**
+     * Returns the first charsPerPrefix characters of the key packed into a
+     * long, padded with zero codes, or -1 if the key has a character that no
+     * signature contains. For two keys of the index, the prefix order is
+     * consistent with String.compareTo.
+     */
+    private long prefix(String key) {
+        long packed = 0;
+        int length = Math.min(key.length(), charsPerPrefix);
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            if (c >= codes.length || codes[c] == 0) {
+                return -1;
+            }
+            packed = (packed << bitsPerChar) | codes[c];
+        }
+        return packed << (bitsPerChar * (charsPerPrefix - length));
+    }
+
+    /**
+     * Returns the Eytzinger index of the given signature, or 0 if the index
+     * does not contain it. The loop has no early exit: it always descends to
+     * the bottom, choosing the child with arithmetic, and the lower bound is
+     * recovered from the path afterwards.
+     */
+    private int find(String key) {
+        long target = prefix(key);
+        if (target < 0) {
+            return 0;
+        }
+        int k = 1;
+        while (k <= numGroups) {
+            long p = prefixes[k];
+            boolean less = p < target
+                    || (p == target && signatures[k].compareTo(key) < 0);
+            k = 2 * k + (less ? 1 : 0);
+        }
+        // Undo the right turns taken after the last left turn, then that
+        // left turn, to reach the smallest signature not less than the key.
+        k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+        return k != 0 && prefixes[k] == target && signatures[k].equals(key) ?
+                k : 0;
+    }
+
+    /**
+     * Returns the number of signatures stored in the index.
+     * @return the number of signatures stored in the index
+     */
+    @Override
+    public int size() {
+        return numGroups;
+    }
+
+    /**
+     * Returns true if the index contains no signatures.
+     * @return true if the index contains no signatures
+     */
+    @Override
+    public boolean isEmpty() {
+        return numGroups == 0;
+    }
+
+    /**
+     * Returns the number of words stored in the index.
+     * @return the number of words stored in the index
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * Returns a new group of the words stored under the given signature, or
+     * null if the index contains no such signature.
+     * @param key the signature whose anagram group is to be returned
+     * @return a new group of the words stored under the signature, or null
+     */
+    @Override
+    public MyList<String> get(String key) {
+        int k = find(key);
+        return k == 0 ? null : group(k);
+    }
+
+    private AnagramGroup group(int k) {
+        return new AnagramGroup(
+                Arrays.copyOfRange(words, offsets[k], offsets[k + 1]));
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> put(String key, MyList<String> value) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> remove(String key) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> computeIfAbsent(String key,
+            Function<? super String, ? extends MyList<String>> function) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> merge(String key, MyList<String> value,
+            BiFunction<? super MyList<String>, ? super MyList<String>,
+                       ? extends MyList<String>> remappingFunction) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super MyList<String>,
+                                      ? extends MyList<String>> function) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * Performs the given action for each signature and its anagram group in
+     * signature order, walking the implicit tree in order.
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    public void forEach(
+            BiConsumer<? super String, ? super MyList<String>> action) {
+        if (numGroups == 0) {
+            return;
+        }
+        int k = 1;
+        while (2 * k <= numGroups) {
+            k *= 2;
+        }
+        while (k != 0) {
+            action.accept(signatures[k], group(k));
+            if (2 * k + 1 <= numGroups) {
+                // Leftmost node of the right subtree.
+                k = 2 * k + 1;
+                while (2 * k <= numGroups) {
+                    k *= 2;
+                }
+            } else {
+                // Climb past the right turns, then once more.
+                k >>>= Integer.numberOfTrailingZeros(~k) + 1;
+            }
+        }
+    }
+}
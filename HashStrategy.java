@@ -0,0 +1,157 @@
+import java.util.SplittableRandom;
+
+/**
+ * Interface for the function a MyHashMap uses to hash its keys. The map only
+ * keeps the low 31 bits of the hash and reduces them modulo its prime table
+ * size, so a strategy should spread its entropy across all of those bits.
+ * <p>
+ * Besides the keys' own hashCode, strategies are provided that scramble it
+ * further, hash strings with a seeded 64-bit function, or hash a string from
+ * the number of times each character occurs in it.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+@FunctionalInterface
+public interface HashStrategy<K> {
+    // Names accepted by forName, for usage messages.
+    String NAMES = "default|avalanche|seeded|histogram";
+
+    /**
+     * Returns the hash of the given key.
+     * @param key the key to hash
+     * @return the hash of the key
+     */
+    int hash(K key);
+
+    /**
+     * Returns the strategy that uses each key's own hashCode.
+     * @return the strategy that uses each key's own hashCode
+     */
+    static HashStrategy<Object> hashCodes() {
+        return Object::hashCode;
+    }
+
+    /**
+     * Returns a strategy that passes each key's hashCode through the
+     * MurmurHash3 finalizer, so that every input bit affects every output bit.
+     * Keys whose hashCodes differ only in their high bits then no longer crowd
+     * into a few buckets.
+     * @return the avalanche strategy
+     */
+    static HashStrategy<Object> avalanche() {
+        return key -> mix32(key.hashCode());
+    }
+
+    /**
+     * Returns a strategy that hashes strings with hash64 and the given seed.
+     * Collisions depend on the seed, so a word list crafted against
+     * String.hashCode does not collide under it.
+     * @param seed the seed of the hash function
+     * @return the seeded 64-bit strategy
+     */
+    static HashStrategy<CharSequence> seeded(long seed) {
+        return key -> (int)(hash64(key, seed) >>> 32);
+    }
+
+    /**
+     * Returns a strategy that hashes a string from its letter histogram: the
+     * hash is a sum of one random 64-bit weight per character occurrence,
+     * so it only depends on how often each character occurs. A word and its
+     * anagram signature hash alike, and the characters never need to be
+     * visited in order.
+     * @return the letter histogram strategy
+     */
+    static HashStrategy<CharSequence> histogram() {
+        return key -> {
+            long sum = 0;
+            for (int i = 0, n = key.length(); i < n; i++) {
+                char c = key.charAt(i);
+                sum += c < LetterWeights.WEIGHTS.length ?
+                        LetterWeights.WEIGHTS[c] : mix64(c);
+            }
+            return (int)(mix64(sum) >>> 32);
+        };
+    }
+
+    /**
+     * Returns the strategy with the given name, as listed in NAMES, or null if
+     * there is none. The seeded strategy gets a random seed.
+     * @param name the name of the strategy
+     * @return the strategy with the given name, or null
+     */
+    static HashStrategy<? super String> forName(String name) {
+        switch (name) {
+            case "default":
+                return hashCodes();
+            case "avalanche":
+                return avalanche();
+            case "seeded":
+                return seeded(new SplittableRandom().nextLong());
+            case "histogram":
+                return histogram();
+            default:
+                return null;
+        }
+    }
+
+    /**
+     * Returns a 64-bit hash of the given characters. Each character is mixed
+     * into the state with a multiply and a xorshift, which makes the state
+     * depend nonlinearly on the seed, so strings colliding under one seed do
+     * not collide under another. The result goes through the MurmurHash3
+     * 64-bit finalizer.
+     * @param text the characters to hash
+     * @param seed the seed of the hash function
+     * @return the 64-bit hash of the characters
+     */
+    static long hash64(CharSequence text, long seed) {
+        long h = seed ^ (text.length() * 0xC2B2AE3D27D4EB4FL);
+        for (int i = 0, n = text.length(); i < n; i++) {
+            h = (h ^ text.charAt(i)) * 0x9E3779B97F4A7C15L;
+            h ^= h >>> 29;
+        }
+        return mix64(h);
+    }
+
+    /**
+     * Returns the MurmurHash3 32-bit finalizer of the given value.
+     * @param h the value to mix
+     * @return the mixed value
+     */
+    static int mix32(int h) {
+        h ^= h >>> 16;
+        h *= 0x85EBCA6B;
+        h ^= h >>> 13;
+        h *= 0xC2B2AE35;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Returns the MurmurHash3 64-bit finalizer of the given value.
+     * @param h the value to mix
+     * @return the mixed value
+     */
+    static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xFF51AFD7ED558CCDL;
+        h ^= h >>> 33;
+        h *= 0xC4CEB9FE1A85EC53L;
+        return h ^ (h >>> 33);
+    }
+
+    /**
+     * Holder of the per-character weights of the histogram strategy, so they
+     * are only computed when that strategy is first used.
+     */
+    final class LetterWeights {
+        private static final long[] WEIGHTS = new long[128];
+
+        static {
+            for (int c = 0; c < WEIGHTS.length; c++) {
+                WEIGHTS[c] = mix64(c + 0x9E3779B97F4A7C15L);
+            }
+        }
+
+        private LetterWeights() { }
+    }
+}
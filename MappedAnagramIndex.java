@@ -0,0 +1,342 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Read-only map over a prebuilt anagram index file. The file is memory-mapped
+ * with FileChannel.map and every lookup is answered in place with a binary
+ * search over the sorted signature table, so no dictionary parsing happens
+ * at query time.
+ * <p>
+ * File layout (all integers big-endian, all strings UTF-8):
+ * <pre>
+ * int     MAGIC
+ * int     number of signatures (groups)
+ * int     number of words
+ * int[]   byte offset of each group record, sorted by signature bytes
+ * records short signature length, signature bytes,
+ *         int word count, then per word: short length, word bytes
+ * </pre>
+ * The words of each group are stored already sorted in the capitalizedOrder
+ * collation, so lookups return finalized AnagramGroups.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class MappedAnagramIndex implements MyMap<String, MyList<String>> {
+    private static final int MAGIC = 0x414E4732; // "ANG2"
+    private static final int HEADER_SIZE = 12;
+    private static final int MAX_STRING_BYTES = 0xffff;
+
+    private final MappedByteBuffer buffer;
+    private final int numGroups, numWords;
+
+    /**
+     * Maps the given index file into memory. The header, the offset table and
+     * the extent of every record are checked against the file size once, so
+     * lookups never read past the end of a truncated or corrupt file.
+     * @param indexFile the path to an index file created by write()
+     * @throws IOException if the file cannot be read, is not an index file or
+     *                     is truncated or corrupt
+     */
+    public MappedAnagramIndex(String indexFile) throws IOException {
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "r");
+             FileChannel channel = file.getChannel()) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Index file '" + indexFile
+                        + "' is too large to map.");
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0,
+                                 channel.size());
+        }
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("'" + indexFile
+                    + "' is not an anagram index file.");
+        }
+        numGroups = buffer.getInt(4);
+        numWords = buffer.getInt(8);
+        checkLayout(indexFile);
+    }
+
+    /**
+     * Walks the offset table and the records it points to, checking that the
+     * records follow each other without gaps, that every string and word
+     * count fits in the file and that the word total matches the header.
+     */
+    private void checkLayout(String indexFile) throws IOException {
+        long capacity = buffer.capacity();
+        long position = HEADER_SIZE + 4L * numGroups;
+        if (numGroups < 0 || numWords < 0 || position > capacity) {
+            throw corrupt(indexFile);
+        }
+        long words = 0;
+        for (int i = 0; i < numGroups; i++) {
+            if (groupOffset(i) != position || position + 2 > capacity) {
+                throw corrupt(indexFile);
+            }
+            position += 2 + (buffer.getShort((int)position) & 0xffff);
+            if (position + 4 > capacity) {
+                throw corrupt(indexFile);
+            }
+            int count = buffer.getInt((int)position);
+            position += 4;
+            if (count < 0) {
+                throw corrupt(indexFile);
+            }
+            for (int j = 0; j < count; j++) {
+                if (position + 2 > capacity) {
+                    throw corrupt(indexFile);
+                }
+                position += 2 + (buffer.getShort((int)position) & 0xffff);
+            }
+            if (position > capacity) {
+                throw corrupt(indexFile);
+            }
+            words += count;
+        }
+        if (words != numWords || position != capacity) {
+            throw corrupt(indexFile);
+        }
+    }
+
+    private static IOException corrupt(String indexFile) {
+        return new IOException("Index file '" + indexFile
+                + "' is truncated or corrupt.");
+    }
+
+    /**
+     * Writes the signature to anagram-group mappings of the given map to an
+     * index file that can later be opened with the MappedAnagramIndex
+     * constructor.
+     * @param map       the map of signatures to their anagram groups
+     * @param indexFile the path of the index file to create
+     * @throws IOException if the file cannot be written or a word is too long
+     *                     to be stored
+     */
+    public static void write(MyMap<String, MyList<String>> map,
+                             String indexFile) throws IOException {
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Pair<byte[], MyList<String>>[] groups = new Pair[map.size()];
+        int[] count = new int[1];
+        map.forEach((signature, anagrams) -> groups[count[0]++] =
+                new Pair<>(signature.getBytes(StandardCharsets.UTF_8),
+                           AnagramGroup.sortedCopy(anagrams)));
+        // Unsigned byte order of UTF-8 is the order used by the lookups.
+        Arrays.sort(groups, (a, b) -> Arrays.compareUnsigned(a.key, b.key));
+
+        int numWords = 0;
+        long recordsSize = 0;
+        byte[][][] encodedWords = new byte[groups.length][][];
+        for (int i = 0; i < groups.length; i++) {
+            MyList<String> anagrams = groups[i].value;
+            byte[][] words = new byte[anagrams.size()][];
+            Iterator<String> iter = anagrams.iterator();
+            for (int j = 0; j < words.length; j++) {
+                byte[] word = iter.next().getBytes(StandardCharsets.UTF_8);
+                words[j] = checkLength(word);
+                recordsSize += 2 + words[j].length;
+            }
+            encodedWords[i] = words;
+            numWords += words.length;
+            recordsSize += 2 + checkLength(groups[i].key).length + 4;
+        }
+        long fileSize = HEADER_SIZE + 4L * groups.length + recordsSize;
+        if (fileSize > Integer.MAX_VALUE) {
+            throw new IOException(
+                    "Dictionary is too large for one index file.");
+        }
+
+        ByteBuffer out = ByteBuffer.allocate((int)fileSize);
+        out.putInt(MAGIC).putInt(groups.length).putInt(numWords);
+        int recordOffset = HEADER_SIZE + 4 * groups.length;
+        for (int i = 0; i < groups.length; i++) {
+            out.putInt(recordOffset);
+            recordOffset += 2 + groups[i].key.length + 4;
+            for (byte[] word : encodedWords[i]) {
+                recordOffset += 2 + word.length;
+            }
+        }
+        for (int i = 0; i < groups.length; i++) {
+            out.putShort((short)groups[i].key.length).put(groups[i].key);
+            out.putInt(encodedWords[i].length);
+            for (byte[] word : encodedWords[i]) {
+                out.putShort((short)word.length).put(word);
+            }
+        }
+        out.flip();
+        try (RandomAccessFile file = new RandomAccessFile(indexFile, "rw");
+             FileChannel channel = file.getChannel()) {
+            channel.truncate(0);
+            while (out.hasRemaining()) {
+                channel.write(out);
+            }
+        }
+    }
+
+    private static byte[] checkLength(byte[] bytes) throws IOException {
+        if (bytes.length > MAX_STRING_BYTES) {
+            throw new IOException("Word of " + bytes.length
+                    + " bytes is too long to be indexed.");
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the number of signatures stored in the index.
+     * @return the number of signatures stored in the index
+     */
+    @Override
+    public int size() {
+        return numGroups;
+    }
+
+    /**
+     * Returns true if the index contains no signatures.
+     * @return true if the index contains no signatures
+     */
+    @Override
+    public boolean isEmpty() {
+        return numGroups == 0;
+    }
+
+    /**
+     * Returns the number of words stored in the index.
+     * @return the number of words stored in the index
+     */
+    public int wordCount() {
+        return numWords;
+    }
+
+    /**
+     * Returns a new group of the words stored under the given signature, or
+     * null if the index contains no such signature.
+     * @param key the signature whose anagram group is to be returned
+     * @return a new group of the words stored under the signature, or null
+     */
+    @Override
+    public MyList<String> get(String key) {
+        byte[] target = key.getBytes(StandardCharsets.UTF_8);
+        int low = 0, high = numGroups - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int record = groupOffset(mid);
+            int comparison = compareSignature(record, target);
+            if (comparison == 0) {
+                return readWords(record + 2 + target.length);
+            } else if (comparison < 0) {
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> put(String key, MyList<String> value) {
+        throw new UnsupportedOperationException("Index file is read-only.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> remove(String key) {
+        throw new UnsupportedOperationException("Index file is read-only.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> computeIfAbsent(String key,
+            Function<? super String, ? extends MyList<String>> function) {
+        throw new UnsupportedOperationException("Index file is read-only.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> merge(String key, MyList<String> value,
+            BiFunction<? super MyList<String>, ? super MyList<String>,
+                       ? extends MyList<String>> remappingFunction) {
+        throw new UnsupportedOperationException("Index file is read-only.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super MyList<String>,
+                                      ? extends MyList<String>> function) {
+        throw new UnsupportedOperationException("Index file is read-only.");
+    }
+
+    /**
+     * Performs the given action for each signature and its anagram group in
+     * signature order.
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    public void forEach(BiConsumer<? super String, ? super MyList<String>> action) {
+        for (int i = 0; i < numGroups; i++) {
+            int record = groupOffset(i);
+            int length = buffer.getShort(record) & 0xffff;
+            action.accept(readString(record), readWords(record + 2 + length));
+        }
+    }
+
+    private int groupOffset(int group) {
+        return buffer.getInt(HEADER_SIZE + 4 * group);
+    }
+
+    /**
+     * Compares the signature stored at the given record with the target bytes
+     * without copying it out of the mapped buffer.
+     */
+    private int compareSignature(int record, byte[] target) {
+        int length = buffer.getShort(record) & 0xffff;
+        int start = record + 2, n = Math.min(length, target.length);
+        for (int i = 0; i < n; i++) {
+            int comparison = (buffer.get(start + i) & 0xff) - (target[i] & 0xff);
+            if (comparison != 0) {
+                return comparison;
+            }
+        }
+        return length - target.length;
+    }
+
+    private MyList<String> readWords(int position) {
+        int count = buffer.getInt(position);
+        position += 4;
+        String[] words = new String[count];
+        for (int i = 0; i < count; i++) {
+            int length = buffer.getShort(position) & 0xffff;
+            words[i] = readString(position);
+            position += 2 + length;
+        }
+        return new AnagramGroup(words); // stored in sorted order
+    }
+
+    private String readString(int position) {
+        byte[] bytes = new byte[buffer.getShort(position) & 0xffff];
+        buffer.get(position + 2, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,242 @@
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Resizable-array implementation of the MyList interface. Unlike MyLinkedList,
+ * get and set run in O(1) time, and the list offers a stable O(n log n) sort.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class MyArrayList<E> implements MyList<E> {
+    private static final Object[] EMPTY_ELEMENTS = new Object[0];
+    // Most anagram groups hold one or two words.
+    private static final int DEFAULT_CAPACITY = 2;
+    // Runs this short are sorted with insertion sort before merging.
+    private static final int INSERTION_SORT_THRESHOLD = 8;
+    private Object[] elements;
+    private int size;
+
+    /**
+     * Constructs an empty list. No array is allocated until the first element
+     * is added.
+     */
+    public MyArrayList() {
+        elements = EMPTY_ELEMENTS;
+    }
+
+    /**
+     * Constructs an empty list with room for the specified number of elements.
+     * @param initialCapacity the initial capacity of the list
+     * @throws IllegalArgumentException if the capacity is negative
+     */
+    public MyArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "Illegal capacity: " + initialCapacity);
+        }
+        elements = initialCapacity == 0 ?
+                EMPTY_ELEMENTS : new Object[initialCapacity];
+    }
+
+    /**
+     * Returns the number of elements in this list.
+     * @return the number of elements in this list
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this list contains no elements.
+     * @return true if this list contains no elements
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Appends the specified element to the end of this list. The backing
+     * array grows by half its length when full, so appends take amortized
+     * O(1) time.
+     * @param element  element to be appended to this list
+     * @return true
+     */
+    @Override
+    public boolean add(E element) {
+        if (size == elements.length) {
+            ensureCapacity(size + 1);
+        }
+        elements[size++] = element;
+        return true;
+    }
+
+    /**
+     * Returns the element at the specified position in this list.
+     * @param index  index of the element to return
+     * @return       the element at the specified position in this list
+     * @throws       IndexOutOfBoundsException - if the index is out of range
+     *               (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E get(int index) {
+        checkIndex(index);
+        return (E)elements[index];
+    }
+
+    /**
+     * Replaces the element at the specified position in this list with the
+     * specified element.
+     * @param index    index of the element to return
+     * @param element  element to be stored at the specified position
+     * @return  the element at the specified position in this list
+     * @throws  IndexOutOfBoundsException - if the index is out of range
+     *          (index < 0 || index >= size())
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E set(int index, E element) {
+        checkIndex(index);
+        E oldElement = (E)elements[index];
+        elements[index] = element;
+        return oldElement;
+    }
+
+    /**
+     * Removes all of the elements from this list. The capacity is kept.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+    }
+
+    /**
+     * Increases the capacity of this list, if necessary, so that it can hold
+     * at least the specified number of elements without growing again.
+     * @param minCapacity the desired minimum capacity
+     */
+    public void ensureCapacity(int minCapacity) {
+        if (minCapacity <= elements.length) {
+            return;
+        }
+        int newCapacity = Math.max(DEFAULT_CAPACITY,
+                elements.length + (elements.length >> 1));
+        elements = Arrays.copyOf(elements, Math.max(newCapacity, minCapacity));
+    }
+
+    /**
+     * Shrinks the capacity of this list to its current size.
+     */
+    public void trimToSize() {
+        if (size < elements.length) {
+            elements = size == 0 ?
+                    EMPTY_ELEMENTS : Arrays.copyOf(elements, size);
+        }
+    }
+
+    /**
+     * Sorts this list according to the order induced by the specified
+     * comparator. The sort is a merge sort, so it is stable and runs in
+     * O(n log n) time.
+     * @param c the comparator used to compare list elements
+     */
+    @SuppressWarnings("unchecked")
+    public void sort(Comparator<? super E> c) {
+        if (size < 2) {
+            return;
+        }
+        Object[] aux = Arrays.copyOf(elements, size);
+        mergeSort(aux, elements, 0, size, (Comparator<Object>)c);
+    }
+
+    /**
+     * Sorts src[low, high) into dst[low, high). Both arrays must hold the
+     * same elements in that range on entry; the roles of the arrays alternate
+     * at each level of recursion, so no copying back is needed.
+     */
+    private static void mergeSort(Object[] src, Object[] dst, int low,
+                                  int high, Comparator<Object> c) {
+        if (high - low <= INSERTION_SORT_THRESHOLD) {
+            for (int i = low + 1; i < high; i++) {
+                Object current = dst[i];
+                int j = i - 1;
+                while (j >= low && c.compare(dst[j], current) > 0) {
+                    dst[j + 1] = dst[j];
+                    j--;
+                }
+                dst[j + 1] = current;
+            }
+            return;
+        }
+        int mid = (low + high) >>> 1;
+        mergeSort(dst, src, low, mid, c);
+        mergeSort(dst, src, mid, high, c);
+        if (c.compare(src[mid - 1], src[mid]) <= 0) {
+            System.arraycopy(src, low, dst, low, high - low); // already in order
+            return;
+        }
+        for (int i = low, p = low, q = mid; i < high; i++) {
+            if (q >= high || (p < mid && c.compare(src[p], src[q]) <= 0)) {
+                dst[i] = src[p++];
+            } else {
+                dst[i] = src[q++];
+            }
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException(
+                    "Index: " + index + ", list size: " + size);
+        }
+    }
+
+    /**
+     * Returns an iterator over the elements in this list in proper sequence.
+     * @return an iterator over the elements in this list in proper sequence
+     */
+    @Override
+    public Iterator<E> iterator() {
+        return new ListItr();
+    }
+
+    private class ListItr implements Iterator<E> {
+        private int index;
+
+        @Override
+        public boolean hasNext() {
+            return index < size;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public E next() {
+            if (index >= size) {
+                throw new NoSuchElementException();
+            }
+            return (E)elements[index++];
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("[");
+        for (int i = 0; i < size; i++) {
+            if (i != 0) {
+                builder.append(", ");
+            }
+            builder.append(elements[i]);
+        }
+        return builder.append("]").toString();
+    }
+}
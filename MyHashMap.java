@@ -1,7 +1,27 @@
+import java.util.Arrays;
 import java.util.Iterator;
+import java.util.Stack;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
 /**
  * Class for a simple hash map.
+ * <p>
+ * Resizing is incremental: when the table grows (or shrinks below the
+ * minimum load factor), the new table is allocated and the old one is kept
+ * alongside it, and each later put or remove moves a few old buckets across.
+ * Lookups check both tables while a migration is in progress, and never move
+ * entries themselves, so concurrent readers of an unchanging map stay safe.
+ * <p>
+ * A bucket whose chain reaches TREEIFY_THRESHOLD entries, as happens when
+ * many keys share a hash code, is converted into a TreeBin that keeps its
+ * entries in an AVLTreeMap ordered by compareTo, so lookups in it take
+ * O(log n) time. It turns back into a chain when it shrinks to
+ * UNTREEIFY_THRESHOLD entries. Keys must therefore have a compareTo that is
+ * consistent with equals.
+ * <p>
+ * Keys are hashed by a HashStrategy, which defaults to their hashCode.
  * @author Brian S. Borowski
  * @version 1.0.1 November 15, 2022
  */
@@ -12,12 +32,86 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
             101, 211, 431, 863, 1733, 3467, 6947, 13901, 27803, 55609, 111227,
             222461 };
     private static final double MAX_LOAD_FACTOR = 0.75;
-    private Entry<K, V>[] table;
-    private int primeIndex, numEntries;
+    private static final double MIN_LOAD_FACTOR = 0.2;
+    // Shrinking aims for this load factor, midway between the two limits.
+    private static final double SHRINK_LOAD_FACTOR = 0.5;
+    private static final int MAX_TABLE_SIZE = Integer.MAX_VALUE - 8;
+    // Number of old buckets moved to the new table by each put or remove, per
+    // new bucket that each old one is worth. This finishes any migration well
+    // before the next resize can be triggered.
+    private static final int MIGRATION_STEP = 4;
+    // Chain lengths at which a bucket becomes a tree and turns back into a
+    // chain. The gap keeps a bucket from flipping on every put and remove.
+    private static final int TREEIFY_THRESHOLD = 8, UNTREEIFY_THRESHOLD = 6;
+    private final HashStrategy<? super K> hashStrategy;
+    private Entry<K, V>[] table, oldTable;
+    private int numEntries, migrateIndex;
 
     @SuppressWarnings("unchecked")
     public MyHashMap() {
-        table = new Entry[primes[primeIndex]];
+        table = new Entry[primes[0]];
+        hashStrategy = HashStrategy.hashCodes();
+    }
+
+    /**
+     * Creates an empty MyHashMap with enough buckets to hold the expected
+     * number of entries without exceeding the maximum load factor, so that
+     * loading them never rehashes.
+     * @param expectedEntries the number of entries the map is expected to hold
+     */
+    public MyHashMap(int expectedEntries) {
+        this(expectedEntries, HashStrategy.hashCodes());
+    }
+
+    /**
+     * Creates an empty MyHashMap presized like MyHashMap(int) that hashes its
+     * keys with the given strategy.
+     * @param expectedEntries the number of entries the map is expected to hold
+     * @param hashStrategy    the function used to hash the keys
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public MyHashMap(int expectedEntries,
+                     HashStrategy<? super K> hashStrategy) {
+        table = new Entry[tableSizeFor(
+                (long)Math.ceil(expectedEntries / MAX_LOAD_FACTOR))];
+        this.hashStrategy = hashStrategy;
+    }
+
+    /**
+     * Returns the smallest prime table size that is at least minSize. Sizes
+     * come from the primes list while it lasts; beyond it, the next prime is
+     * found by trial division, so the table can keep growing.
+     * @param minSize the minimum number of buckets
+     * @return the smallest prime table size that is at least minSize
+     */
+    static int tableSizeFor(long minSize) {
+        for (int prime : primes) {
+            if (prime >= minSize) {
+                return prime;
+            }
+        }
+        if (minSize >= MAX_TABLE_SIZE) {
+            return MAX_TABLE_SIZE;
+        }
+        int candidate = (int)minSize | 1;
+        while (!isPrime(candidate)) {
+            candidate += 2;
+        }
+        return candidate;
+    }
+
+    private int indexFor(K key, int length) {
+        // Hashes can be negative!
+        return (hashStrategy.hash(key) & 0x7fffffff) % length;
+    }
+
+    private static boolean isPrime(int n) {
+        for (int divisor = 3; (long)divisor * divisor <= n; divisor += 2) {
+            if (n % divisor == 0) {
+                return false;
+            }
+        }
+        return true;
     }
 
     /**
@@ -55,16 +149,22 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
      */
     @Override
     public V get(K key) {
-        // Hashcodes can be negative!
-        int index = (key.hashCode() & 0x7fffffff) % table.length;
-        Entry<K, V> chain = table[index];
-        if (chain == null) {
-            return null;
+        Entry<K, V> entry = findEntry(table, key);
+        if (entry == null && oldTable != null) {
+            entry = findEntry(oldTable, key);
+        }
+        return entry != null ? entry.value : null;
+    }
+
+    private Entry<K, V> findEntry(Entry<K, V>[] t, K key) {
+        int index = indexFor(key, t.length);
+        Entry<K, V> chainPtr = t[index];
+        if (chainPtr instanceof TreeBin) {
+            return ((TreeBin<K, V>)chainPtr).tree.get(key);
         }
-        Entry<K, V> chainPtr = chain;
         while (chainPtr != null) {
             if (chainPtr.key.equals(key)) {
-                return chainPtr.value;
+                return chainPtr;
             }
             chainPtr = chainPtr.next;
         }
@@ -82,10 +182,21 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
      */
     @Override
     public V put(K key, V value) {
-        int index = (key.hashCode() & 0x7fffffff) % table.length;
+        migrate(key);
+        int index = indexFor(key, table.length);
         Entry<K, V> chain = table[index];
-        if (chain != null) {
+        if (chain instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>)chain;
+            Entry<K, V> entry = bin.tree.get(key);
+            if (entry != null) {
+                V oldValue = entry.value;
+                entry.value = value;
+                return oldValue;
+            }
+            bin.tree.put(key, new Entry<>(key, value));
+        } else {
             Entry<K, V> chainPtr = chain;
+            int chainLength = 0;
             while (chainPtr != null) {
                 if (chainPtr.key.equals(key)) {
                     V oldValue = chainPtr.value;
@@ -93,48 +204,209 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
                     return oldValue;
                 }
                 chainPtr = chainPtr.next;
+                chainLength++;
+            }
+            Entry<K, V> newEntry = new Entry<>(key, value);
+            newEntry.next = chain;
+            table[index] = newEntry;
+            if (chainLength + 1 >= TREEIFY_THRESHOLD) {
+                treeify(table, index);
             }
         }
-        Entry<K, V> newEntry = new Entry<>(key, value);
-        newEntry.next = chain;
-        table[index] = newEntry;
+        entryAdded();
+        return null;
+    }
+
+    private void entryAdded() {
         numEntries++;
-        if (primeIndex != primes.length - 1 && getLoadFactor() > MAX_LOAD_FACTOR) {
-            rehash();
+        if (getLoadFactor() > MAX_LOAD_FACTOR
+                && table.length < MAX_TABLE_SIZE) {
+            // Every size in primes is at least double the one before it.
+            startResize(tableSizeFor(2L * table.length));
         }
-        return null;
     }
 
+    /**
+     * Returns the value to which the specified key is mapped. If the key is
+     * not mapped to a value, computes one with the given function and, unless
+     * it is null, enters it into this map. The key's bucket is searched only
+     * once.
+     * @param key             the key whose value is to be returned
+     * @param mappingFunction the function that computes a missing value
+     * @return the current (existing or computed) value associated with key,
+     *         or null if the computed value is null
+     */
+    @Override
+    public V computeIfAbsent(K key,
+                             Function<? super K, ? extends V> mappingFunction) {
+        return computeValue(key, oldValue -> oldValue != null ?
+                oldValue : mappingFunction.apply(key));
+    }
+
+    /**
+     * Associates the specified value with the specified key if it is not
+     * mapped to a value yet. Otherwise, replaces the value with the result of
+     * the given function applied to the old and the specified value, or
+     * removes the mapping if the result is null.
+     * @param key               the key with which the value is to be merged
+     * @param value             the value to use if the key is absent
+     * @param remappingFunction the function that combines an existing value
+     *                          with the specified value
+     * @return the new value associated with key, or null if there is none
+     */
+    @Override
+    public V merge(K key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        return computeValue(key, oldValue -> oldValue == null ?
+                value : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * Replaces the value of the key with the result of the remapping function
+     * applied to it, passing null if the key is absent. A null result leaves
+     * an absent key out of the map and removes a present one.
+     */
+    private V computeValue(K key, Function<? super V, ? extends V> remapping) {
+        migrate(key);
+        Entry<K, V> entry = findEntry(table, key);
+        if (entry != null) {
+            V newValue = remapping.apply(entry.value);
+            if (newValue == null) {
+                remove(key);
+            } else {
+                entry.value = newValue;
+            }
+            return newValue;
+        }
+        V newValue = remapping.apply(null);
+        if (newValue != null) {
+            link(new Entry<>(key, newValue));
+            entryAdded();
+        }
+        return newValue;
+    }
+
+    /**
+     * Starts moving the entries into a new table of the given size. A
+     * migration that is still in progress is completed first.
+     */
     @SuppressWarnings("unchecked")
-    private void rehash() {
-        int newTableSize = primes[++primeIndex];
-        Entry<K, V>[] newTable = new Entry[newTableSize];
-        for (Entry<K, V> chain: table) {
-            Entry<K, V> chainPtr = chain;
-            while (chainPtr != null) {
-                Entry<K, V> current = chainPtr;
-                chainPtr = chainPtr.next;
-                int newIndex = (current.key.hashCode() & 0x7fffffff) % newTableSize;
-                current.next = newTable[newIndex];
-                newTable[newIndex] = current;
+    private void startResize(int newTableSize) {
+        finishMigration();
+        oldTable = table;
+        table = new Entry[newTableSize];
+        migrateIndex = 0;
+    }
+
+    /**
+     * Performs one step of an in-progress migration, and makes sure that the
+     * old bucket of the given key has been moved, so that the key can only
+     * be found in the new table.
+     */
+    private void migrate(K key) {
+        if (oldTable == null) {
+            return;
+        }
+        moveBucket(indexFor(key, oldTable.length));
+        int step = MIGRATION_STEP
+                * (1 + (oldTable.length - 1) / table.length);
+        for (int i = 0; i < step && migrateIndex < oldTable.length; i++) {
+            moveBucket(migrateIndex++);
+        }
+        if (migrateIndex == oldTable.length) {
+            oldTable = null;
+        }
+    }
+
+    private void finishMigration() {
+        if (oldTable != null) {
+            while (migrateIndex < oldTable.length) {
+                moveBucket(migrateIndex++);
             }
+            oldTable = null;
+        }
+    }
+
+    private void moveBucket(int oldIndex) {
+        Entry<K, V> chainPtr = oldTable[oldIndex];
+        oldTable[oldIndex] = null;
+        if (chainPtr instanceof TreeBin) {
+            chainPtr = ((TreeBin<K, V>)chainPtr).toChain();
+        }
+        while (chainPtr != null) {
+            Entry<K, V> current = chainPtr;
+            chainPtr = chainPtr.next;
+            link(current);
+        }
+    }
+
+    /**
+     * Adds an entry whose key is not in the map yet to its bucket in table,
+     * treeifying the bucket if its chain becomes too long.
+     */
+    private void link(Entry<K, V> entry) {
+        int index = indexFor(entry.key, table.length);
+        Entry<K, V> chain = table[index];
+        if (chain instanceof TreeBin) {
+            entry.next = null;
+            ((TreeBin<K, V>)chain).tree.put(entry.key, entry);
+            return;
+        }
+        entry.next = chain;
+        table[index] = entry;
+        int chainLength = 0;
+        for (Entry<K, V> chainPtr = entry; chainPtr != null;
+             chainPtr = chainPtr.next) {
+            chainLength++;
+        }
+        if (chainLength >= TREEIFY_THRESHOLD) {
+            treeify(table, index);
         }
-        table = newTable;
     }
 
     /**
-     * Removes the mapping for a key from this map if it is present.
+     * Replaces the chain in bucket index of the table with a TreeBin holding
+     * the same entries.
+     */
+    private void treeify(Entry<K, V>[] t, int index) {
+        TreeBin<K, V> bin = new TreeBin<>();
+        Entry<K, V> chainPtr = t[index];
+        while (chainPtr != null) {
+            Entry<K, V> current = chainPtr;
+            chainPtr = chainPtr.next;
+            current.next = null;
+            bin.tree.put(current.key, current);
+        }
+        t[index] = bin;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. When the
+     * load factor falls below MIN_LOAD_FACTOR, the table starts shrinking.
      * @param key the key whose mapping is to be removed from the map
      * @return the previous value associated with key, or null if there was no
      *         mapping for key
      */
     @Override
     public V remove(K key) {
-        int index = (key.hashCode() & 0x7fffffff) % table.length;
+        migrate(key);
+        int index = indexFor(key, table.length);
         Entry<K, V> chain = table[index];
         if (chain == null) {
             return null;
         }
+        if (chain instanceof TreeBin) {
+            TreeBin<K, V> bin = (TreeBin<K, V>)chain;
+            Entry<K, V> entry = bin.tree.remove(key);
+            if (entry == null) {
+                return null;
+            }
+            if (bin.tree.size() <= UNTREEIFY_THRESHOLD) {
+                table[index] = bin.toChain();
+            }
+            entryRemoved();
+            return entry.value;
+        }
         Entry<K, V> chainPtr = chain, prev = null;
         V oldValue = null;
         while (chainPtr != null) {
@@ -145,7 +417,7 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
                 } else {
                     prev.next = chainPtr.next;
                 }
-                numEntries--;
+                entryRemoved();
                 break;
             }
             prev = chainPtr;
@@ -154,43 +426,123 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         return oldValue;
     }
 
+    private void entryRemoved() {
+        numEntries--;
+        if (oldTable == null && table.length > primes[0]
+                && getLoadFactor() < MIN_LOAD_FACTOR) {
+            startResize(tableSizeFor(
+                    (long)Math.ceil(numEntries / SHRINK_LOAD_FACTOR)));
+        }
+    }
+
+    /**
+     * Performs the given action for each key-value mapping in this map in the
+     * order in which the mappings appear in the table.
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    public void forEach(BiConsumer<? super K, ? super V> action) {
+        forEach(table, action);
+        if (oldTable != null) {
+            forEach(oldTable, action);
+        }
+    }
+
+    private void forEach(Entry<K, V>[] t,
+                         BiConsumer<? super K, ? super V> action) {
+        for (Entry<K, V> chain : t) {
+            if (chain instanceof TreeBin) {
+                ((TreeBin<K, V>)chain).tree.forEach(
+                        (key, entry) -> action.accept(key, entry.value));
+                continue;
+            }
+            for (Entry<K, V> chainPtr = chain; chainPtr != null;
+                 chainPtr = chainPtr.next) {
+                action.accept(chainPtr.key, chainPtr.value);
+            }
+        }
+    }
+
+    /**
+     * Replaces each value in this map with the result of invoking the given
+     * function on its key and value. No entry changes its bucket.
+     * @param function the function that computes the new value of each mapping
+     */
+    @Override
+    public void replaceAll(
+            BiFunction<? super K, ? super V, ? extends V> function) {
+        Iterator<Entry<K, V>> iter = iterator();
+        while (iter.hasNext()) {
+            Entry<K, V> entry = iter.next();
+            entry.value = function.apply(entry.key, entry.value);
+        }
+    }
+
     /**
      * Returns the load factor of this MyHashMap, defined as the number of
      * entries / table size.
      * @return the load factor of this MyHashMap
      */
     public double getLoadFactor() {
-        return (double)numEntries / primes[primeIndex];
+        return (double)numEntries / table.length;
     }
 
     /**
      * Returns the maximum length of a chain in this MyHashMap. This value
      * provides information about how well the hash function is working. With a
      * max load factor of 0.75, we would like to see a max chain length close
-     * to 1.
+     * to 1. A treeified bucket counts as a chain of all its entries.
      * @return the maximum length of a chain in this MyHashMap
      */
     public int computeMaxChainLength() {
-        int maxChainLength = 0;
-        for (Entry<K, V> chain : table) {
-            if (chain != null) {
-                int currentChainLength = 0;
-                Entry<K, V> chainPtr = chain;
-                while (chainPtr != null) {
-                    currentChainLength++;
-                    chainPtr = chainPtr.next;
-                }
-                if (currentChainLength > maxChainLength) {
-                    maxChainLength = currentChainLength;
+        return computeChainLengthHistogram().length - 1;
+    }
+
+    /**
+     * Returns the number of buckets holding each chain length: element i of
+     * the array is the number of buckets with exactly i entries, so element 0
+     * counts the empty buckets, and the last element is for the longest
+     * chain. A treeified bucket counts as a chain of all its entries. While
+     * the table is being resized, the buckets of both tables are counted.
+     * @return the chain-length histogram of this MyHashMap
+     */
+    public int[] computeChainLengthHistogram() {
+        int[] histogram = countChainLengths(table, new int[1]);
+        if (oldTable != null) {
+            histogram = countChainLengths(oldTable, histogram);
+        }
+        int length = histogram.length;
+        while (length > 1 && histogram[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(histogram, length);
+    }
+
+    private int[] countChainLengths(Entry<K, V>[] t, int[] histogram) {
+        for (Entry<K, V> chain : t) {
+            int chainLength = 0;
+            if (chain instanceof TreeBin) {
+                chainLength = ((TreeBin<K, V>)chain).tree.size();
+            } else {
+                for (Entry<K, V> chainPtr = chain; chainPtr != null;
+                     chainPtr = chainPtr.next) {
+                    chainLength++;
                 }
             }
+            if (chainLength >= histogram.length) {
+                histogram = Arrays.copyOf(histogram,
+                        Math.max(chainLength + 1, histogram.length * 2));
+            }
+            histogram[chainLength]++;
         }
-        return maxChainLength;
+        return histogram;
     }
 
     /**
      * Returns a string representation of this MyHashMap for tables with up
-     * to and including 1000 entries.
+     * to and including 1000 entries. While the table is being resized, the
+     * buckets of the old table that have not been moved yet follow those of
+     * the new one.
      * @return a string representation of this MyHashMap
      */
     public String toString() {
@@ -200,22 +552,38 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         if (numEntries == 0) {
             return "HashMap is empty.";
         }
+        StringBuilder builder = new StringBuilder();
+        appendTable(table, builder);
+        if (oldTable != null) {
+            builder.append("Old table:");
+            builder.append(System.getProperty("line.separator"));
+            appendTable(oldTable, builder);
+        }
+        return builder.toString();
+    }
+
+    private void appendTable(Entry<K, V>[] t, StringBuilder builder) {
         int maxIndex;
-        for (maxIndex = table.length - 1; maxIndex >= 0; maxIndex--) {
-            if (table[maxIndex] != null) {
+        for (maxIndex = t.length - 1; maxIndex >= 0; maxIndex--) {
+            if (t[maxIndex] != null) {
                 break;
             }
         }
         int maxIndexWidth = String.valueOf(maxIndex).length();
-        StringBuilder builder = new StringBuilder();
         String newLine = System.getProperty("line.separator");
-        for (int i = 0; i < table.length; i++) {
-            Entry<K, V> chain = table[i];
+        for (int i = 0; i < t.length; i++) {
+            Entry<K, V> chain = t[i];
             if (chain != null) {
                 int indexWidth = String.valueOf(i).length();
                 builder.append(" ".repeat(maxIndexWidth - indexWidth));
                 builder.append(i);
                 builder.append(": ");
+                if (chain instanceof TreeBin) {
+                    builder.append("tree ");
+                    builder.append(((TreeBin<K, V>)chain).tree.inorder());
+                    builder.append(newLine);
+                    continue;
+                }
                 while (chain != null) {
                     builder.append(chain);
                     if (chain.next != null) {
@@ -226,12 +594,12 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
                 builder.append(newLine);
             }
         }
-        return builder.toString();
     }
 
     /**
      * Returns an iterator over the Entries in this MyHashMap in the order
-     * in which they appear in the table.
+     * in which they appear in the table, followed by those still in the old
+     * table while it is being resized.
      * @return an iterator over the Entries in this MyHashMap
      */
     public Iterator<Entry<K, V>> iterator() {
@@ -239,10 +607,14 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
     }
 
     private class MapItr implements Iterator<Entry<K, V>> {
+        private Entry<K, V>[] t;
         private Entry<K, V> current;
-        private int index;
+        // The entries of the TreeBin being visited, if any.
+        private MyArrayList<Entry<K, V>> binEntries;
+        private int index, binIndex;
 
         MapItr() {
+            t = table;
             advanceToNextEntry();
         }
 
@@ -254,7 +626,15 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         @Override
         public Entry<K, V> next() {
             Entry<K, V> e = current;
-            if (current.next == null) {
+            if (binEntries != null) {
+                if (++binIndex < binEntries.size()) {
+                    current = binEntries.get(binIndex);
+                } else {
+                    binEntries = null;
+                    index++;
+                    advanceToNextEntry();
+                }
+            } else if (current.next == null) {
                 index++;
                 advanceToNextEntry();
             } else {
@@ -269,10 +649,58 @@ public class MyHashMap<K extends Comparable<K>, V> implements MyMap<K, V> {
         }
 
         private void advanceToNextEntry() {
-            while (index < table.length && table[index] == null) {
+            while (index < t.length && t[index] == null) {
                 index++;
             }
-            current = index < table.length ? table[index] : null;
+            if (index == t.length && t == table && oldTable != null) {
+                t = oldTable;
+                index = 0;
+                advanceToNextEntry();
+                return;
+            }
+            current = index < t.length ? t[index] : null;
+            if (current instanceof TreeBin) {
+                binEntries = new MyArrayList<>();
+                ((TreeBin<K, V>)current).tree.forEach(
+                        (key, entry) -> binEntries.add(entry));
+                binIndex = 0;
+                current = binEntries.get(0);
+            }
+        }
+    }
+
+    /**
+     * Bucket placeholder for a treeified chain. It maps each key of the
+     * bucket to its Entry, so values can be updated in place and the entries
+     * can be relinked into a chain without being copied.
+     */
+    private static final class TreeBin<K extends Comparable<K>, V>
+            extends Entry<K, V> {
+        final AVLTreeMap<K, Entry<K, V>> tree = new AVLTreeMap<>();
+
+        TreeBin() {
+            super(null, null);
+        }
+
+        /**
+         * Returns the entries of this bin linked into a chain in key order.
+         */
+        Entry<K, V> toChain() {
+            Entry<K, V> head = new Entry<>(null, null), tail = head;
+            Stack<Node<K, Entry<K, V>>> stack = new Stack<>();
+            Node<K, Entry<K, V>> n = tree.root;
+            while (n != null || !stack.empty()) {
+                while (n != null) {
+                    stack.push(n);
+                    n = n.left;
+                }
+                n = stack.pop();
+                tail.next = n.value;
+                tail = n.value;
+                n = n.right;
+            }
+            tail.next = null;
+            return head.next;
         }
     }
 
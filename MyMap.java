@@ -1,3 +1,7 @@
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
 /**
  * Interface for a collection that maps keys to values.
  * @author Brian S. Borowski
@@ -44,4 +48,44 @@ public interface MyMap<K, V> {
      *         mapping for key
      */
     V remove(K key);
+
+    /**
+     * Returns the value to which the specified key is mapped. If the key is
+     * not mapped to a value, computes one with the given function and, unless
+     * it is null, enters it into this map. The key is looked up only once.
+     * @param key             the key whose value is to be returned
+     * @param mappingFunction the function that computes a missing value
+     * @return the current (existing or computed) value associated with key,
+     *         or null if the computed value is null
+     */
+    V computeIfAbsent(K key, Function<? super K, ? extends V> mappingFunction);
+
+    /**
+     * Associates the specified value with the specified key if it is not
+     * mapped to a value yet. Otherwise, replaces the value with the result of
+     * the given function applied to the old and the specified value, or
+     * removes the mapping if the result is null. The key is looked up only
+     * once, except when a mapping is removed.
+     * @param key               the key with which the value is to be merged
+     * @param value             the value to use if the key is absent
+     * @param remappingFunction the function that combines an existing value
+     *                          with the specified value
+     * @return the new value associated with key, or null if there is none
+     */
+    V merge(K key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction);
+
+    /**
+     * Performs the given action for each key-value mapping in this map. Maps
+     * with an inherent key order visit the mappings in that order.
+     * @param action the action to be performed for each mapping
+     */
+    void forEach(BiConsumer<? super K, ? super V> action);
+
+    /**
+     * Replaces each value in this map with the result of invoking the given
+     * function on its key and value. The set of keys does not change.
+     * @param function the function that computes the new value of each mapping
+     */
+    void replaceAll(BiFunction<? super K, ? super V, ? extends V> function);
 }
@@ -7,6 +7,7 @@
 public class Node<K, V> {
     Node<K, V> left, right, parent;
     int height; // Used only in AVLTreeMap.
+    boolean red; // Used only in RedBlackTreeMap.
     K key;
     V value;
 
@@ -0,0 +1,395 @@
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Class for a linear-probing hash map with String keys. Short keys made of
+ * lowercase letters, digits, apostrophes and hyphens (which covers nearly all
+ * anagram signatures) are packed 6 bits per character into a long and stored
+ * in a primitive array, so a lookup touches two arrays and allocates no Entry.
+ * Any other key is kept in an overflow MyHashMap.
+ * <p>
+ * Removal uses backward-shift deletion, so the table never holds tombstones.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class OpenAddressingHashMap<V> implements MyMap<String, V> {
+    private static final int DEFAULT_CAPACITY = 128;
+    private static final double MAX_LOAD_FACTOR = 0.6;
+    // 10 characters of 6 bits each plus the leading marker bit fit in a long.
+    private static final int MAX_PACKED_LENGTH = 10;
+    private static final int BITS_PER_CHAR = 6;
+    private static final long EMPTY = 0L, UNPACKABLE = -1L;
+    private static final String ALPHABET =
+            "abcdefghijklmnopqrstuvwxyz'-0123456789";
+
+    private long[] keys;
+    private Object[] values;
+    private int mask, numPacked;
+    private MyHashMap<String, V> overflow;
+
+    /**
+     * Creates an empty map.
+     */
+    public OpenAddressingHashMap() {
+        this(0);
+    }
+
+    /**
+     * Creates an empty map large enough to hold the expected number of
+     * entries without resizing.
+     * @param expectedEntries the number of entries the map is expected to hold
+     */
+    public OpenAddressingHashMap(int expectedEntries) {
+        int capacity = DEFAULT_CAPACITY;
+        while (capacity * MAX_LOAD_FACTOR < expectedEntries) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+    }
+
+    /**
+     * Returns the key packed into a long, or UNPACKABLE if it is too long or
+     * contains a character outside ALPHABET. A marker bit precedes the
+     * characters, so no packed key is EMPTY and the length is implied.
+     */
+    static long pack(String key) {
+        int length = key.length();
+        if (length > MAX_PACKED_LENGTH) {
+            return UNPACKABLE;
+        }
+        long packed = 1;
+        for (int i = 0; i < length; i++) {
+            char c = key.charAt(i);
+            int code;
+            if (c >= 'a' && c <= 'z') {
+                code = c - 'a' + 1;
+            } else {
+                code = ALPHABET.indexOf(c) + 1;
+                if (code == 0) {
+                    return UNPACKABLE;
+                }
+            }
+            packed = (packed << BITS_PER_CHAR) | code;
+        }
+        return packed;
+    }
+
+    static String unpack(long packed) {
+        int length = (63 - Long.numberOfLeadingZeros(packed)) / BITS_PER_CHAR;
+        char[] chars = new char[length];
+        for (int i = length - 1; i >= 0; i--) {
+            chars[i] = ALPHABET.charAt((int)(packed & 0x3f) - 1);
+            packed >>>= BITS_PER_CHAR;
+        }
+        return new String(chars);
+    }
+
+    /**
+     * Returns the home slot of a packed key, scrambling all 64 bits so that
+     * keys sharing their low characters still spread across the table.
+     */
+    private int slot(long packed) {
+        long h = packed * 0x9E3779B97F4A7C15L;
+        return (int)(h ^ (h >>> 32)) & mask;
+    }
+
+    /**
+     * Returns the number of buckets in the primitive table.
+     * @return the number of buckets in the primitive table
+     */
+    public int getTableSize() {
+        return keys.length;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return numPacked + (overflow == null ? 0 : overflow.size());
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V get(String key) {
+        long packed = pack(key);
+        if (packed == UNPACKABLE) {
+            return overflow == null ? null : overflow.get(key);
+        }
+        for (int i = slot(packed); keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == packed) {
+                return (V)values[i];
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V put(String key, V value) {
+        long packed = pack(key);
+        if (packed == UNPACKABLE) {
+            if (overflow == null) {
+                overflow = new MyHashMap<>();
+            }
+            return overflow.put(key, value);
+        }
+        int i = slot(packed);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == packed) {
+                V oldValue = (V)values[i];
+                values[i] = value;
+                return oldValue;
+            }
+        }
+        keys[i] = packed;
+        values[i] = value;
+        if (++numPacked > keys.length * MAX_LOAD_FACTOR) {
+            resize(keys.length << 1);
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped. If the key is
+     * not mapped to a value, computes one with the given function and, unless
+     * it is null, stores it in the slot where the probe for the key ended.
+     * @param key             the key whose value is to be returned
+     * @param mappingFunction the function that computes a missing value
+     * @return the current (existing or computed) value associated with key,
+     *         or null if the computed value is null
+     */
+    @Override
+    public V computeIfAbsent(String key,
+            Function<? super String, ? extends V> mappingFunction) {
+        long packed = pack(key);
+        if (packed == UNPACKABLE) {
+            if (overflow == null) {
+                overflow = new MyHashMap<>();
+            }
+            return overflow.computeIfAbsent(key, mappingFunction);
+        }
+        return computeValue(key, packed, oldValue -> oldValue != null ?
+                oldValue : mappingFunction.apply(key));
+    }
+
+    /**
+     * Associates the specified value with the specified key if it is not
+     * mapped to a value yet. Otherwise, replaces the value with the result of
+     * the given function applied to the old and the specified value, or
+     * removes the mapping if the result is null.
+     * @param key               the key with which the value is to be merged
+     * @param value             the value to use if the key is absent
+     * @param remappingFunction the function that combines an existing value
+     *                          with the specified value
+     * @return the new value associated with key, or null if there is none
+     */
+    @Override
+    public V merge(String key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        long packed = pack(key);
+        if (packed == UNPACKABLE) {
+            if (overflow == null) {
+                overflow = new MyHashMap<>();
+            }
+            return overflow.merge(key, value, remappingFunction);
+        }
+        return computeValue(key, packed, oldValue -> oldValue == null ?
+                value : remappingFunction.apply(oldValue, value));
+    }
+
+    /**
+     * Replaces the value of a packed key with the result of the remapping
+     * function applied to it, passing null if the key is absent, in a single
+     * probe. A null result leaves an absent key out of the map and removes a
+     * present one.
+     */
+    @SuppressWarnings("unchecked")
+    private V computeValue(String key, long packed,
+                           Function<? super V, ? extends V> remapping) {
+        int i = slot(packed);
+        for (; keys[i] != EMPTY; i = (i + 1) & mask) {
+            if (keys[i] == packed) {
+                V newValue = remapping.apply((V)values[i]);
+                if (newValue == null) {
+                    remove(key);
+                } else {
+                    values[i] = newValue;
+                }
+                return newValue;
+            }
+        }
+        V newValue = remapping.apply(null);
+        if (newValue != null) {
+            keys[i] = packed;
+            values[i] = newValue;
+            if (++numPacked > keys.length * MAX_LOAD_FACTOR) {
+                resize(keys.length << 1);
+            }
+        }
+        return newValue;
+    }
+
+    private void resize(int newCapacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(newCapacity);
+        for (int j = 0; j < oldKeys.length; j++) {
+            if (oldKeys[j] != EMPTY) {
+                int i = slot(oldKeys[j]);
+                while (keys[i] != EMPTY) {
+                    i = (i + 1) & mask;
+                }
+                keys[i] = oldKeys[j];
+                values[i] = oldValues[j];
+            }
+        }
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. Later
+     * keys of the same probe run are shifted back into the freed slot.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public V remove(String key) {
+        long packed = pack(key);
+        if (packed == UNPACKABLE) {
+            return overflow == null ? null : overflow.remove(key);
+        }
+        int i = slot(packed);
+        while (keys[i] != packed) {
+            if (keys[i] == EMPTY) {
+                return null;
+            }
+            i = (i + 1) & mask;
+        }
+        V oldValue = (V)values[i];
+        int hole = i;
+        for (int j = (hole + 1) & mask; keys[j] != EMPTY; j = (j + 1) & mask) {
+            // Move keys[j] into the hole unless its home slot lies in the
+            // cyclic range (hole, j], where it would no longer be found.
+            int home = slot(keys[j]);
+            if (((j - home) & mask) >= ((j - hole) & mask)) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        keys[hole] = EMPTY;
+        values[hole] = null;
+        numPacked--;
+        return oldValue;
+    }
+
+    /**
+     * Performs the given action for each key-value mapping in this map, first
+     * in table order and then for the overflow keys.
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                action.accept(unpack(keys[i]), (V)values[i]);
+            }
+        }
+        if (overflow != null) {
+            overflow.forEach(action);
+        }
+    }
+
+    /**
+     * Replaces each value in this map with the result of invoking the given
+     * function on its key and value.
+     * @param function the function that computes the new value of each mapping
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public void replaceAll(
+            BiFunction<? super String, ? super V, ? extends V> function) {
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] != EMPTY) {
+                values[i] = function.apply(unpack(keys[i]), (V)values[i]);
+            }
+        }
+        if (overflow != null) {
+            overflow.replaceAll(function);
+        }
+    }
+
+    public static void main(String[] args) {
+        OpenAddressingHashMap<Integer> map = new OpenAddressingHashMap<>();
+        String[] keys = new String[20000];
+        int expectedSum = 0;
+        for (int i = 0; i < keys.length; i++) {
+            // Every seventh key is too long to pack and goes to overflow.
+            keys[i] = (i % 7 == 0 ? "overflowing-key-" : "k") + i;
+            map.put(keys[i], i);
+            expectedSum += i;
+        }
+        System.out.println("Size            : " + map.size());
+        System.out.println("Table size      : " + map.getTableSize());
+        System.out.println("Expected sum: " + expectedSum);
+
+        int receivedSum = 0;
+        for (String key : keys) {
+            receivedSum += map.get(key);
+        }
+        System.out.println("Received sum: " + receivedSum);
+
+        int[] iteratedSum = new int[1];
+        map.forEach((key, value) -> iteratedSum[0] += value);
+        System.out.println("Received sum: " + iteratedSum[0]);
+
+        receivedSum = 0;
+        for (int i = 0; i < keys.length; i += 2) {
+            receivedSum += map.remove(keys[i]);
+        }
+        for (int i = 1; i < keys.length; i += 2) {
+            receivedSum += map.get(keys[i]);
+        }
+        System.out.println("Received sum: " + receivedSum);
+        System.out.println("Size            : " + map.size());
+        System.out.println("Missing keys    : "
+                + Arrays.stream(keys).filter(k -> map.get(k) == null).count());
+    }
+}
@@ -0,0 +1,220 @@
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.util.Iterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.function.Supplier;
+
+/**
+ * Class that loads a dictionary file into an anagram map on a ForkJoinPool.
+ * The file is split into line-aligned byte ranges, each range is read,
+ * decoded and grouped by signature into a partial index in parallel, and the
+ * partial indexes are merged pairwise before being moved into the target map.
+ * Merging always appends the right range after the left one, so every
+ * anagram group keeps the order of the words in the file.
+ * <p>
+ * A ConcurrentMyHashMap target is instead filled directly by all the workers
+ * through its upsert method, which skips the partial indexes and the merges.
+ * The words of a group then arrive in no particular order, which does not
+ * matter once the groups have been frozen.
+ * <p>
+ * Ranges are aligned on '\n' bytes, which is safe for the platform default
+ * charset as long as it is ASCII-compatible (e.g. UTF-8 or ISO-8859-1).
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class ParallelDictionaryLoader {
+    private static final int RANGES_PER_THREAD = 4;
+    private static final int MAX_RANGE_BYTES = 16 * 1024 * 1024;
+    private static final int SCAN_BUFFER_BYTES = 256;
+
+    private ParallelDictionaryLoader() { }
+
+    /**
+     * Reads every line of the dictionary file and adds it to the anagram group
+     * of its signature in the given map, which may be any MyMap
+     * implementation. The map is only touched by the calling thread, unless
+     * it is a ConcurrentMyHashMap.
+     * @param map            the map where the anagrams are stored
+     * @param dictionaryFile the path to the dictionary file
+     * @param listFactory    creates the list of anagrams for each new key; it
+     *                       is called from the pool's worker threads
+     * @throws IOException if an I/O error occurs reading the file
+     */
+    public static void load(MyMap<String, MyList<String>> map,
+                            String dictionaryFile,
+                            Supplier<MyList<String>> listFactory)
+            throws IOException {
+        ConcurrentMyHashMap<String, MyList<String>> shared =
+                map instanceof ConcurrentMyHashMap ?
+                (ConcurrentMyHashMap<String, MyList<String>>)map : null;
+        MyHashMap<String, MyList<String>> partial;
+        try (RandomAccessFile file = new RandomAccessFile(dictionaryFile, "r");
+             FileChannel channel = file.getChannel()) {
+            long[] bounds = splitIntoRanges(channel);
+            try {
+                partial = ForkJoinPool.commonPool().invoke(
+                        new LoadTask(channel, bounds, 0, bounds.length - 1,
+                                     listFactory, shared));
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        }
+        if (shared != null) {
+            return; // the workers filled the map themselves
+        }
+        // A new signature moves the whole group.
+        partial.forEach((signature, anagrams) -> map.merge(
+                signature, anagrams, ParallelDictionaryLoader::appendAll));
+    }
+
+    /**
+     * Returns the boundaries of the byte ranges, where range i spans
+     * [bounds[i], bounds[i + 1]). Every boundary except the first and last
+     * falls directly after a '\n' byte.
+     */
+    private static long[] splitIntoRanges(FileChannel channel)
+            throws IOException {
+        long size = channel.size();
+        int parallelism = ForkJoinPool.commonPool().getParallelism();
+        long numRanges = Math.max((long)parallelism * RANGES_PER_THREAD,
+                                  size / MAX_RANGE_BYTES + 1);
+        numRanges = Math.max(1, Math.min(numRanges, size));
+        long[] bounds = new long[(int)numRanges + 1];
+        ByteBuffer scan = ByteBuffer.allocate(SCAN_BUFFER_BYTES);
+        for (int i = 1; i < numRanges; i++) {
+            long position = Math.max(size * i / numRanges, bounds[i - 1]);
+            bounds[i] = nextLineStart(channel, position, scan);
+        }
+        bounds[bounds.length - 1] = size;
+        return bounds;
+    }
+
+    private static long nextLineStart(FileChannel channel, long position,
+                                      ByteBuffer scan) throws IOException {
+        while (true) {
+            scan.clear();
+            int read = channel.read(scan, position);
+            if (read <= 0) {
+                return channel.size();
+            }
+            for (int i = 0; i < read; i++) {
+                if (scan.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += read;
+        }
+    }
+
+    private static MyList<String> appendAll(MyList<String> target,
+                                            MyList<String> source) {
+        Iterator<String> iter = source.iterator();
+        while (iter.hasNext()) {
+            target.add(iter.next());
+        }
+        return target;
+    }
+
+    /**
+     * Builds the partial index of ranges [low, high) by splitting them in
+     * half until a single range remains. With a shared map, the words are
+     * added to it directly and the task returns null.
+     */
+    private static class LoadTask
+            extends RecursiveTask<MyHashMap<String, MyList<String>>> {
+        private static final long serialVersionUID = 1L;
+        private final FileChannel channel;
+        private final long[] bounds;
+        private final int low, high;
+        private final Supplier<MyList<String>> listFactory;
+        private final ConcurrentMyHashMap<String, MyList<String>> shared;
+
+        LoadTask(FileChannel channel, long[] bounds, int low, int high,
+                 Supplier<MyList<String>> listFactory,
+                 ConcurrentMyHashMap<String, MyList<String>> shared) {
+            this.channel = channel;
+            this.bounds = bounds;
+            this.low = low;
+            this.high = high;
+            this.listFactory = listFactory;
+            this.shared = shared;
+        }
+
+        @Override
+        protected MyHashMap<String, MyList<String>> compute() {
+            if (high - low == 1) {
+                try {
+                    return loadRange(bounds[low], bounds[high]);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            int mid = (low + high) >>> 1;
+            LoadTask right = new LoadTask(channel, bounds, mid, high,
+                                          listFactory, shared);
+            right.fork();
+            MyHashMap<String, MyList<String>> left =
+                    new LoadTask(channel, bounds, low, mid, listFactory,
+                                 shared).compute();
+            MyHashMap<String, MyList<String>> rightPartial = right.join();
+            return shared != null ? null : merge(left, rightPartial);
+        }
+
+        private MyHashMap<String, MyList<String>> merge(
+                MyHashMap<String, MyList<String>> left,
+                MyHashMap<String, MyList<String>> right) {
+            right.forEach((signature, anagrams) -> left.merge(
+                    signature, anagrams, ParallelDictionaryLoader::appendAll));
+            return left;
+        }
+
+        private MyHashMap<String, MyList<String>> loadRange(long start, long end)
+                throws IOException {
+            byte[] bytes = new byte[(int)(end - start)];
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            while (buffer.hasRemaining()) {
+                if (channel.read(buffer, start + buffer.position()) < 0) {
+                    break;
+                }
+            }
+            String text = new String(bytes, 0, buffer.position(),
+                                     Charset.defaultCharset());
+            MyHashMap<String, MyList<String>> partial =
+                    shared != null ? null : new MyHashMap<>();
+            SignatureEngine signatures = new SignatureEngine();
+            int lineStart = 0, length = text.length();
+            for (int i = 0; i < length; i++) {
+                char c = text.charAt(i);
+                if (c == '\n' || c == '\r') { // same terminators as readLine
+                    addWord(partial, signatures, text.substring(lineStart, i));
+                    if (c == '\r' && i + 1 < length
+                            && text.charAt(i + 1) == '\n') {
+                        i++;
+                    }
+                    lineStart = i + 1;
+                }
+            }
+            if (lineStart < length) {
+                addWord(partial, signatures, text.substring(lineStart));
+            }
+            return partial;
+        }
+
+        private void addWord(MyHashMap<String, MyList<String>> partial,
+                             SignatureEngine signatures, String word) {
+            String sortedWord = signatures.signature(word);
+            if (shared != null) {
+                shared.upsert(sortedWord, listFactory,
+                              anagrams -> anagrams.add(word));
+                return;
+            }
+            partial.computeIfAbsent(sortedWord, key -> listFactory.get())
+                   .add(word);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Read-only map built once from a finished signature to anagram-group map,
+ * whose signatures are placed with a minimal perfect hash function: each of
+ * the n signatures has its own slot in arrays of exactly n entries, so a
+ * lookup hashes the key once, reads one pilot and one slot, and compares one
+ * signature.
+ * <p>
+ * The function follows the hash-and-displace scheme of CHD. Every key's
+ * 64-bit hash picks one of about n / KEYS_PER_BUCKET buckets, and each bucket
+ * stores a pilot: the key's slot is its hash mixed with the pilot of its
+ * bucket, reduced to [0, m) with m = n / LOAD_FACTOR. The build places the
+ * largest buckets first, trying pilots 0, 1, 2, ... until all keys of a
+ * bucket land in free slots. The spare slots keep the last buckets from
+ * waiting for the very last free slot, which takes about n pilots in a table
+ * of exactly n slots. As in PTHash, the keys that land at or past n are then
+ * remapped to the slots below n that were left free, so the arrays still
+ * hold exactly n entries. The pilots cost 32 / KEYS_PER_BUCKET bits per key
+ * and the remap table about 32 * (1 - LOAD_FACTOR) more.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class PerfectHashIndex implements MyMap<String, MyList<String>> {
+    // Larger buckets need fewer pilots but make each harder to place.
+    private static final int KEYS_PER_BUCKET = 4;
+    // The fraction of the slots that receive a key before the remapping.
+    private static final double LOAD_FACTOR = 0.99;
+    // A bucket that fails this many pilots is assumed unplaceable, and the
+    // build starts over with the next seed. The hardest buckets need about
+    // ten thousand pilots for a few million signatures, so a seed attempt
+    // takes about 1 s per million signatures whether it succeeds or not.
+    private static final int MAX_PILOT = 1 << 16;
+
+    private final int numGroups;
+    private final long seed;
+    private final int[] pilots;
+    // remap[s - numGroups] is the final slot of the key placed in slot s.
+    private final int[] remap;
+    // Indexed by slot.
+    private final String[] signatures;
+    private final int[] offsets;
+    private final String[] words;
+
+    /**
+     * Builds the index from the mappings of the given map, which is not
+     * modified. Each group is stored in its finalized AnagramGroup order.
+     * @param map the map of signatures to their anagram groups
+     */
+    public PerfectHashIndex(MyMap<String, MyList<String>> map) {
+        numGroups = map.size();
+        String[] keys = new String[numGroups];
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        MyList<String>[] groups = new MyList[numGroups];
+        int[] count = new int[1];
+        int[] numWords = new int[1];
+        map.forEach((signature, anagrams) -> {
+            keys[count[0]] = signature;
+            groups[count[0]++] = anagrams;
+            numWords[0] += anagrams.size();
+        });
+
+        int numBuckets = Math.max(1,
+                (numGroups + KEYS_PER_BUCKET - 1) / KEYS_PER_BUCKET);
+        pilots = new int[numBuckets];
+        int tableSize = (int)Math.ceil(numGroups / LOAD_FACTOR);
+        long[] hashes = new long[numGroups];
+        int[] slotOf = new int[numGroups];
+        boolean[] taken = new boolean[tableSize];
+        long candidate = 0;
+        while (!build(keys, candidate, hashes, slotOf, taken)) {
+            candidate++;
+            Arrays.fill(taken, false);
+        }
+        seed = candidate;
+
+        // Pair the keys past numGroups with the free slots below it, which
+        // are equally many.
+        remap = new int[tableSize - numGroups];
+        int free = 0;
+        for (int s = numGroups; s < tableSize; s++) {
+            if (taken[s]) {
+                while (taken[free]) {
+                    free++;
+                }
+                remap[s - numGroups] = free++;
+            }
+        }
+        for (int i = 0; i < numGroups; i++) {
+            if (slotOf[i] >= numGroups) {
+                slotOf[i] = remap[slotOf[i] - numGroups];
+            }
+        }
+
+        signatures = new String[numGroups];
+        int[] keyAt = new int[numGroups];
+        for (int i = 0; i < numGroups; i++) {
+            signatures[slotOf[i]] = keys[i];
+            keyAt[slotOf[i]] = i;
+        }
+        offsets = new int[numGroups + 1];
+        words = new String[numWords[0]];
+        int offset = 0;
+        for (int s = 0; s < numGroups; s++) {
+            offsets[s] = offset;
+            Iterator<String> iter =
+                    AnagramGroup.sortedCopy(groups[keyAt[s]]).iterator();
+            while (iter.hasNext()) {
+                words[offset++] = iter.next();
+            }
+        }
+        offsets[numGroups] = offset;
+    }
+
+    /**
+     * Tries to find a pilot for every bucket under the given seed, filling
+     * in pilots, the slot of every key and the taken slots. Returns false if
+     * two keys have the same 64-bit hash or a bucket cannot be placed.
+     */
+    private boolean build(String[] keys, long seed, long[] hashes,
+                          int[] slotOf, boolean[] taken) {
+        int numBuckets = pilots.length;
+        // Counting sort of the keys by bucket.
+        int[] bucketStart = new int[numBuckets + 1];
+        for (int i = 0; i < keys.length; i++) {
+            hashes[i] = HashStrategy.hash64(keys[i], seed);
+            bucketStart[bucket(hashes[i], numBuckets) + 1]++;
+        }
+        int maxBucketSize = 0;
+        for (int b = 0; b < numBuckets; b++) {
+            maxBucketSize = Math.max(maxBucketSize, bucketStart[b + 1]);
+            bucketStart[b + 1] += bucketStart[b];
+        }
+        int[] members = new int[keys.length];
+        int[] fill = new int[numBuckets];
+        for (int i = 0; i < keys.length; i++) {
+            int b = bucket(hashes[i], numBuckets);
+            members[bucketStart[b] + fill[b]++] = i;
+        }
+
+        // Counting sort of the buckets by decreasing size.
+        int[] sizeStart = new int[maxBucketSize + 2];
+        for (int b = 0; b < numBuckets; b++) {
+            sizeStart[maxBucketSize - fill[b] + 1]++;
+        }
+        for (int k = 0; k <= maxBucketSize; k++) {
+            sizeStart[k + 1] += sizeStart[k];
+        }
+        int[] order = new int[numBuckets];
+        for (int b = 0; b < numBuckets; b++) {
+            order[sizeStart[maxBucketSize - fill[b]]++] = b;
+        }
+
+        for (int b : order) {
+            int from = bucketStart[b], to = bucketStart[b + 1];
+            for (int i = from + 1; i < to; i++) {
+                for (int j = from; j < i; j++) {
+                    if (hashes[members[i]] == hashes[members[j]]) {
+                        return false; // no pilot can separate them
+                    }
+                }
+            }
+            int pilot = 0;
+            while (!place(members, from, to, hashes, pilot, taken, slotOf)) {
+                if (++pilot == MAX_PILOT) {
+                    return false;
+                }
+            }
+            pilots[b] = pilot;
+        }
+        return true;
+    }
+
+    /**
+     * Claims the slots of the keys members[from, to) under the given pilot,
+     * or claims nothing and returns false if any slot is taken or shared.
+     */
+    private boolean place(int[] members, int from, int to, long[] hashes,
+                          int pilot, boolean[] taken, int[] slotOf) {
+        for (int i = from; i < to; i++) {
+            int s = slot(hashes[members[i]], pilot, taken.length);
+            if (taken[s]) {
+                for (int j = from; j < i; j++) {
+                    taken[slotOf[members[j]]] = false;
+                }
+                return false;
+            }
+            taken[s] = true;
+            slotOf[members[i]] = s;
+        }
+        return true;
+    }
+
+    /**
+     * Maps the low half of the hash onto [0, numBuckets) by multiplication,
+     * which avoids a division.
+     */
+    private static int bucket(long hash, int numBuckets) {
+        return (int)(((hash & 0xffffffffL) * numBuckets) >>> 32);
+    }
+
+    private static int slot(long hash, int pilot, int tableSize) {
+        long mixed = HashStrategy.mix64(hash ^ (pilot * 0x9E3779B97F4A7C15L));
+        return (int)(((mixed >>> 32) * tableSize) >>> 32);
+    }
+
+    /**
+     * Returns the slot of the key with the given hash under the given pilot.
+     */
+    private int finalSlot(long hash, int pilot) {
+        int s = slot(hash, pilot, numGroups + remap.length);
+        return s < numGroups ? s : remap[s - numGroups];
+    }
+
+    /**
+     * Returns the number of bits the pilots and the remap table take per
+     * signature.
+     * @return the number of bits the hash function takes per signature
+     */
+    public double bitsPerKey() {
+        return numGroups == 0 ? 0 :
+                32.0 * (pilots.length + remap.length) / numGroups;
+    }
+
+    /**
+     * Returns the number of signatures stored in the index.
+     * @return the number of signatures stored in the index
+     */
+    @Override
+    public int size() {
+        return numGroups;
+    }
+
+    /**
+     * Returns true if the index contains no signatures.
+     * @return true if the index contains no signatures
+     */
+    @Override
+    public boolean isEmpty() {
+        return numGroups == 0;
+    }
+
+    /**
+     * Returns the number of words stored in the index.
+     * @return the number of words stored in the index
+     */
+    public int wordCount() {
+        return words.length;
+    }
+
+    /**
+     * Returns a new group of the words stored under the given signature, or
+     * null if the index contains no such signature. A key that is not in the
+     * index still hashes to some slot, so the signature there is compared.
+     * @param key the signature whose anagram group is to be returned
+     * @return a new group of the words stored under the signature, or null
+     */
+    @Override
+    public MyList<String> get(String key) {
+        if (numGroups == 0) {
+            return null;
+        }
+        long hash = HashStrategy.hash64(key, seed);
+        int s = finalSlot(hash, pilots[bucket(hash, pilots.length)]);
+        return signatures[s].equals(key) ? group(s) : null;
+    }
+
+    private AnagramGroup group(int s) {
+        String[] anagrams = new String[offsets[s + 1] - offsets[s]];
+        System.arraycopy(words, offsets[s], anagrams, 0, anagrams.length);
+        return new AnagramGroup(anagrams);
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> put(String key, MyList<String> value) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> remove(String key) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> computeIfAbsent(String key,
+            Function<? super String, ? extends MyList<String>> function) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public MyList<String> merge(String key, MyList<String> value,
+            BiFunction<? super MyList<String>, ? super MyList<String>,
+                       ? extends MyList<String>> remappingFunction) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * The index is read-only.
+     * @throws UnsupportedOperationException always
+     */
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super MyList<String>,
+                                      ? extends MyList<String>> function) {
+        throw new UnsupportedOperationException("Index is frozen.");
+    }
+
+    /**
+     * Performs the given action for each signature and its anagram group in
+     * slot order, which follows no key order.
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    public void forEach(
+            BiConsumer<? super String, ? super MyList<String>> action) {
+        for (int s = 0; s < numGroups; s++) {
+            action.accept(signatures[s], group(s));
+        }
+    }
+}
@@ -0,0 +1,500 @@
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Class for a compressed radix trie with String keys which implements the
+ * MyMap interface. Keys sharing a prefix share the nodes of that prefix, and
+ * a chain of nodes with one child and no value is collapsed into one node
+ * whose label holds the whole run of characters. Anagram signatures are
+ * sorted, so they share long prefixes such as "aa" or "ae" and the trie
+ * stores far fewer characters than there are in all the keys.
+ * <p>
+ * The children of a node are kept in two exact-size arrays sorted by the
+ * first character of their labels, which is searched with a binary search.
+ * Iterating over the trie visits the keys in String.compareTo order.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class RadixTrieMap<V> implements MyMap<String, V> {
+    private static final char[] NO_CHARS = new char[0];
+    private final TrieNode<V> root = new TrieNode<>(NO_CHARS);
+    private int size;
+
+    /**
+     * A node of the trie. The key of a node is the concatenation of the
+     * labels on the path from the root to it.
+     */
+    static final class TrieNode<V> {
+        private static final TrieNode<?>[] NO_CHILDREN = new TrieNode<?>[0];
+        char[] label;
+        V value; // null if no key ends at this node
+        char[] firsts = NO_CHARS;
+        @SuppressWarnings("unchecked")
+        TrieNode<V>[] children = (TrieNode<V>[])NO_CHILDREN;
+
+        TrieNode(char[] label) {
+            this.label = label;
+        }
+
+        /**
+         * Returns the index of the child whose label starts with c, or
+         * -(insertion point) - 1 if there is none.
+         */
+        int indexOf(char c) {
+            return Arrays.binarySearch(firsts, c);
+        }
+
+        void insertChild(int pos, TrieNode<V> child) {
+            char[] newFirsts = new char[firsts.length + 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, pos);
+            System.arraycopy(firsts, pos, newFirsts, pos + 1,
+                    firsts.length - pos);
+            newFirsts[pos] = child.label[0];
+            TrieNode<V>[] newChildren = Arrays.copyOf(children,
+                    children.length + 1);
+            System.arraycopy(children, pos, newChildren, pos + 1,
+                    children.length - pos);
+            newChildren[pos] = child;
+            firsts = newFirsts;
+            children = newChildren;
+        }
+
+        void removeChild(int pos) {
+            char[] newFirsts = new char[firsts.length - 1];
+            System.arraycopy(firsts, 0, newFirsts, 0, pos);
+            System.arraycopy(firsts, pos + 1, newFirsts, pos,
+                    newFirsts.length - pos);
+            TrieNode<V>[] newChildren = Arrays.copyOf(children,
+                    children.length - 1);
+            System.arraycopy(children, pos + 1, newChildren, pos,
+                    newChildren.length - pos);
+            firsts = newFirsts;
+            children = newChildren;
+        }
+    }
+
+    /**
+     * Returns the number of characters of the label that match the key from
+     * the given offset onwards.
+     */
+    private static int matchLength(char[] label, String key, int offset) {
+        int n = Math.min(label.length, key.length() - offset);
+        int i = 0;
+        while (i < n && label[i] == key.charAt(offset + i)) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Returns the number of key-value mappings in this map.
+     * @return the number of key-value mappings in this map
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns true if this map contains no key-value mappings.
+     * @return true if this map contains no key-value mappings
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the node whose key is the given key, or null if there is none.
+     */
+    private TrieNode<V> findNode(String key) {
+        TrieNode<V> node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            int i = node.indexOf(key.charAt(offset));
+            if (i < 0) {
+                return null;
+            }
+            node = node.children[i];
+            if (matchLength(node.label, key, offset) != node.label.length) {
+                return null;
+            }
+            offset += node.label.length;
+        }
+        return node;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped, or null if this
+     * map contains no mapping for the key.
+     * @param  key the key whose associated value is to be returned
+     * @return the value to which the specified key is mapped, or null if this
+     *         map contains no mapping for the key
+     */
+    @Override
+    public V get(String key) {
+        TrieNode<V> node = findNode(key);
+        return node == null ? null : node.value;
+    }
+
+    /**
+     * Returns the node whose key is the given key, creating it and any node
+     * needed to split a label if it does not exist yet.
+     */
+    private TrieNode<V> findOrCreateNode(String key) {
+        TrieNode<V> node = root;
+        int offset = 0;
+        while (offset < key.length()) {
+            int i = node.indexOf(key.charAt(offset));
+            if (i < 0) {
+                TrieNode<V> leaf = new TrieNode<>(
+                        key.substring(offset).toCharArray());
+                node.insertChild(-i - 1, leaf);
+                return leaf;
+            }
+            TrieNode<V> child = node.children[i];
+            int matched = matchLength(child.label, key, offset);
+            if (matched < child.label.length) {
+                // The key leaves the label part way: the matched part
+                // becomes a new node above the rest of the old child.
+                TrieNode<V> split = new TrieNode<>(
+                        Arrays.copyOf(child.label, matched));
+                child.label = Arrays.copyOfRange(child.label, matched,
+                        child.label.length);
+                split.firsts = new char[] {child.label[0]};
+                @SuppressWarnings({"unchecked", "rawtypes"})
+                TrieNode<V>[] onlyChild = new TrieNode[] {child};
+                split.children = onlyChild;
+                node.children[i] = split;
+                child = split;
+            }
+            node = child;
+            offset += matched;
+        }
+        return node;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value. Nodes without a value mark prefixes that are
+     * not keys, so a null value removes the mapping.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(String key, V value) {
+        if (value == null) {
+            return remove(key);
+        }
+        TrieNode<V> node = findOrCreateNode(key);
+        V oldValue = node.value;
+        node.value = value;
+        if (oldValue == null) {
+            size++;
+        }
+        return oldValue;
+    }
+
+    /**
+     * Returns the value to which the specified key is mapped. If the key is
+     * not mapped to a value, computes one with the given function and, unless
+     * it is null, stores it at the node where the descent for the key ended.
+     * @param key             the key whose value is to be returned
+     * @param mappingFunction the function that computes a missing value
+     * @return the current (existing or computed) value associated with key,
+     *         or null if the computed value is null
+     */
+    @Override
+    public V computeIfAbsent(String key,
+            Function<? super String, ? extends V> mappingFunction) {
+        TrieNode<V> node = findOrCreateNode(key);
+        if (node.value == null) {
+            V value = mappingFunction.apply(key);
+            if (value == null) {
+                remove(key); // drops the node if it was just created
+                return null;
+            }
+            node.value = value;
+            size++;
+        }
+        return node.value;
+    }
+
+    /**
+     * Associates the specified value with the specified key if it is not
+     * mapped to a value yet. Otherwise, replaces the value with the result of
+     * the given function applied to the old and the specified value, or
+     * removes the mapping if the result is null.
+     * @param key               the key with which the value is to be merged
+     * @param value             the value to use if the key is absent
+     * @param remappingFunction the function that combines an existing value
+     *                          with the specified value
+     * @return the new value associated with key, or null if there is none
+     */
+    @Override
+    public V merge(String key, V value,
+            BiFunction<? super V, ? super V, ? extends V> remappingFunction) {
+        TrieNode<V> node = findOrCreateNode(key);
+        if (node.value == null) {
+            node.value = value;
+            size++;
+            return value;
+        }
+        V newValue = remappingFunction.apply(node.value, value);
+        if (newValue == null) {
+            remove(key);
+        } else {
+            node.value = newValue;
+        }
+        return newValue;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. A node
+     * left without a value and with at most one child is removed or merged
+     * into its child, so the trie stays compressed. This also drops a node
+     * that findOrCreateNode made for a value that was never stored.
+     * @param key the key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(String key) {
+        TrieNode<V> grandparent = null, parent = null, node = root;
+        int parentIndex = -1, nodeIndex = -1;
+        int offset = 0;
+        while (offset < key.length()) {
+            int i = node.indexOf(key.charAt(offset));
+            if (i < 0) {
+                return null;
+            }
+            TrieNode<V> child = node.children[i];
+            if (matchLength(child.label, key, offset) != child.label.length) {
+                return null;
+            }
+            grandparent = parent;
+            parentIndex = nodeIndex;
+            parent = node;
+            nodeIndex = i;
+            node = child;
+            offset += child.label.length;
+        }
+        V oldValue = node.value;
+        if (oldValue != null) {
+            node.value = null;
+            size--;
+        }
+        if (node == root) {
+            return oldValue;
+        }
+        if (node.children.length == 0) {
+            parent.removeChild(nodeIndex);
+            if (parent != root && parent.value == null
+                    && parent.children.length == 1) {
+                absorbOnlyChild(grandparent, parentIndex, parent);
+            }
+        } else if (node.children.length == 1) {
+            absorbOnlyChild(parent, nodeIndex, node);
+        }
+        return oldValue;
+    }
+
+    /**
+     * Replaces the valueless node, child i of its parent, by its only child,
+     * prepending the node's label to the child's.
+     */
+    private static <V> void absorbOnlyChild(TrieNode<V> parent, int i,
+                                            TrieNode<V> node) {
+        TrieNode<V> child = node.children[0];
+        char[] label = Arrays.copyOf(node.label,
+                node.label.length + child.label.length);
+        System.arraycopy(child.label, 0, label, node.label.length,
+                child.label.length);
+        child.label = label;
+        parent.children[i] = child;
+    }
+
+    /**
+     * Performs the given action for each key-value mapping in this map in
+     * ascending key order.
+     * @param action the action to be performed for each mapping
+     */
+    @Override
+    public void forEach(BiConsumer<? super String, ? super V> action) {
+        visit(root, new StringBuilder(), action);
+    }
+
+    private static <V> void visit(TrieNode<V> node, StringBuilder key,
+            BiConsumer<? super String, ? super V> action) {
+        int length = key.length();
+        key.append(node.label);
+        if (node.value != null) {
+            action.accept(key.toString(), node.value);
+        }
+        for (TrieNode<V> child : node.children) {
+            visit(child, key, action);
+        }
+        key.setLength(length);
+    }
+
+    /**
+     * Performs the given action for each mapping whose key is a subsequence
+     * of the given text and at least minLength characters long, in ascending
+     * key order. If both the keys and the text have their characters sorted,
+     * as anagram signatures do, these are exactly the keys whose letters can
+     * all be taken from the text.
+     * <p>
+     * The descent only follows children whose label can still be matched
+     * against the rest of the text, so a branch is dropped as soon as it
+     * needs a character the text has run out of.
+     * @param text      the text the keys must be subsequences of
+     * @param minLength the minimum length of the keys to visit
+     * @param action    the action to be performed for each mapping
+     */
+    public void forEachSubsequenceOf(String text, int minLength,
+            BiConsumer<? super String, ? super V> action) {
+        if (root.value != null && minLength <= 0) {
+            action.accept("", root.value);
+        }
+        visitSubsequences(root, new StringBuilder(), text, 0, minLength,
+                action);
+    }
+
+    /**
+     * Visits the children of the node that match the text from index from
+     * onwards. In a sorted text, the first match of a character is at least
+     * as good as any later one, so matching is greedy.
+     */
+    private static <V> void visitSubsequences(TrieNode<V> node,
+            StringBuilder key, String text, int from, int minLength,
+            BiConsumer<? super String, ? super V> action) {
+        for (int q = from; q < text.length(); q++) {
+            char c = text.charAt(q);
+            if (q > from && c == text.charAt(q - 1)) {
+                continue; // this child was tried at the first copy of c
+            }
+            int i = node.indexOf(c);
+            if (i < 0) {
+                continue;
+            }
+            TrieNode<V> child = node.children[i];
+            int end = q + 1;
+            for (int j = 1; j < child.label.length && end > 0; j++) {
+                end = text.indexOf(child.label[j], end) + 1;
+            }
+            if (end == 0) {
+                continue;
+            }
+            int length = key.length();
+            key.append(child.label);
+            if (child.value != null && key.length() >= minLength) {
+                action.accept(key.toString(), child.value);
+            }
+            visitSubsequences(child, key, text, end, minLength, action);
+            key.setLength(length);
+        }
+    }
+
+    /**
+     * Replaces each value in this map with the result of invoking the given
+     * function on its key and value.
+     * @param function the function that computes the new value of each mapping
+     */
+    @Override
+    public void replaceAll(
+            BiFunction<? super String, ? super V, ? extends V> function) {
+        replaceAll(root, new StringBuilder(), function);
+    }
+
+    private static <V> void replaceAll(TrieNode<V> node, StringBuilder key,
+            BiFunction<? super String, ? super V, ? extends V> function) {
+        int length = key.length();
+        key.append(node.label);
+        if (node.value != null) {
+            node.value = function.apply(key.toString(), node.value);
+        }
+        for (TrieNode<V> child : node.children) {
+            replaceAll(child, key, function);
+        }
+        key.setLength(length);
+    }
+
+    /**
+     * Returns the number of nodes in the trie, including the root.
+     * @return the number of nodes in the trie
+     */
+    public int nodeCount() {
+        return countNodes(root, false);
+    }
+
+    /**
+     * Returns the number of label characters stored in the trie.
+     * @return the number of label characters stored in the trie
+     */
+    public int labelCharCount() {
+        return countNodes(root, true);
+    }
+
+    private static int countNodes(TrieNode<?> node, boolean chars) {
+        int count = chars ? node.label.length : 1;
+        for (TrieNode<?> child : node.children) {
+            count += countNodes(child, chars);
+        }
+        return count;
+    }
+
+    public static void main(String[] args) {
+        RadixTrieMap<Integer> map = new RadixTrieMap<>();
+        String[] keys = new String[20000];
+        int expectedSum = 0, keyChars = 0;
+        for (int i = 0; i < keys.length; i++) {
+            // Sorted digits share prefixes the way anagram signatures do.
+            char[] digits = Integer.toString(i * 7919).toCharArray();
+            Arrays.sort(digits);
+            keys[i] = new String(digits) + i;
+            map.put(keys[i], i);
+            expectedSum += i;
+            keyChars += keys[i].length();
+        }
+        System.out.println("Size            : " + map.size());
+        System.out.println("Nodes           : " + map.nodeCount());
+        System.out.println("Key characters  : " + keyChars);
+        System.out.println("Label characters: " + map.labelCharCount());
+        System.out.println("Expected sum: " + expectedSum);
+
+        int receivedSum = 0;
+        for (String key : keys) {
+            receivedSum += map.get(key);
+        }
+        System.out.println("Received sum: " + receivedSum);
+
+        int[] iteratedSum = new int[1];
+        String[] previous = {""};
+        boolean[] ordered = {true};
+        map.forEach((key, value) -> {
+            iteratedSum[0] += value;
+            ordered[0] &= previous[0].compareTo(key) < 0;
+            previous[0] = key;
+        });
+        System.out.println("Received sum: " + iteratedSum[0]);
+        System.out.println("In key order    : " + ordered[0]);
+
+        receivedSum = 0;
+        for (int i = 0; i < keys.length; i += 2) {
+            receivedSum += map.remove(keys[i]);
+        }
+        for (int i = 1; i < keys.length; i += 2) {
+            receivedSum += map.get(keys[i]);
+        }
+        System.out.println("Received sum: " + receivedSum);
+        System.out.println("Size            : " + map.size());
+        System.out.println("Nodes           : " + map.nodeCount());
+        System.out.println("Missing keys    : "
+                + Arrays.stream(keys).filter(k -> map.get(k) == null).count());
+    }
+}
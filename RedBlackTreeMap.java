@@ -0,0 +1,392 @@
+import java.util.function.Function;
+
+/**
+ * Class that implements a red-black tree which implements the MyMap
+ * interface. Null children count as black leaves. An insertion needs at most
+ * two rotations and a removal at most three, whereas an AVL tree may rotate at
+ * every level on the way up, so heavy insert workloads restructure the tree
+ * less often in exchange for a slightly greater height.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class RedBlackTreeMap<K extends Comparable<K>, V> extends BSTMap<K, V>
+        implements MyMap<K, V> {
+
+    /**
+     * Creates an empty red-black tree map.
+     */
+    public RedBlackTreeMap() { }
+
+    /**
+     * Creates a red-black tree map of the given key-value pairs, inserted in
+     * the order they are received.
+     * @param elements an array of key-value pairs
+     */
+    public RedBlackTreeMap(Pair<K, V>[] elements) {
+        insertElements(elements);
+    }
+
+    /**
+     * Creates a red-black tree map of the given key-value pairs. If sorted is
+     * true, a balanced tree will be created via a divide-and-conquer approach.
+     * If sorted is false, the pairs will be inserted in the order they are
+     * received, and the tree will be recolored and rotated to maintain the
+     * red-black properties.
+     * @param elements an array of key-value pairs
+     */
+    public RedBlackTreeMap(Pair<K, V>[] elements, boolean sorted) {
+        if (!sorted) {
+            insertElements(elements);
+        } else {
+            // Every level above the deepest one is full, so coloring the
+            // nodes of an incomplete last level red keeps every path to a
+            // null child at the same number of black nodes.
+            int fullLevels = 31 - Integer.numberOfLeadingZeros(
+                    elements.length + 1);
+            root = createBST(elements, 0, elements.length - 1, 0, fullLevels);
+        }
+    }
+
+    private Node<K, V> createBST(Pair<K, V>[] pairs, int low, int high,
+                                 int depth, int fullLevels) {
+        if (low > high) {
+            return null;
+        }
+        int mid = low + (high - low) / 2;
+        Pair<K, V> pair = pairs[mid];
+        Node<K, V> parent = new Node<>(pair.key, pair.value);
+        parent.red = depth >= fullLevels;
+        size++;
+        parent.left = createBST(pairs, low, mid - 1, depth + 1, fullLevels);
+        if (parent.left != null) {
+            parent.left.parent = parent;
+        }
+        parent.right = createBST(pairs, mid + 1, high, depth + 1, fullLevels);
+        if (parent.right != null) {
+            parent.right.parent = parent;
+        }
+        return parent;
+    }
+
+    /**
+     * Associates the specified value with the specified key in this map. If the
+     * map previously contained a mapping for the key, the old value is replaced
+     * by the specified value. A new key is inserted as a red leaf, after which
+     * the red-black properties are restored bottom-up.
+     * @param key   the key with which the specified value is to be associated
+     * @param value the value to be associated with the specified key
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V put(K key, V value) {
+        Node<K, V> x = root, y = null;
+        int comparison = 0;
+        while (x != null) {
+            y = x;
+            comparison = key.compareTo(x.key);
+            if (comparison < 0) {
+                x = x.left;
+            } else if (comparison > 0) {
+                x = x.right;
+            } else {
+                V oldValue = x.value;
+                x.value = value;
+                return oldValue;
+            }
+        }
+        insertLeaf(y, comparison, key, value);
+        return null;
+    }
+
+    /**
+     * Replaces the value of the key with the result of the remapping function
+     * applied to it, passing null if the key is absent. A new key is inserted
+     * where the search for it ended, as in put. A null result leaves an absent
+     * key out of the tree and removes a present one.
+     * @param key       the key whose value is to be computed
+     * @param remapping the function that computes the new value from the old
+     * @return the new value associated with key, or null if there is none
+     */
+    @Override
+    protected V computeValue(K key,
+                             Function<? super V, ? extends V> remapping) {
+        Node<K, V> x = root, y = null;
+        int comparison = 0;
+        while (x != null) {
+            y = x;
+            comparison = key.compareTo(x.key);
+            if (comparison < 0) {
+                x = x.left;
+            } else if (comparison > 0) {
+                x = x.right;
+            } else {
+                V newValue = remapping.apply(x.value);
+                if (newValue == null) {
+                    remove(key);
+                } else {
+                    x.value = newValue;
+                }
+                return newValue;
+            }
+        }
+        V newValue = remapping.apply(null);
+        if (newValue != null) {
+            insertLeaf(y, comparison, key, newValue);
+        }
+        return newValue;
+    }
+
+    /**
+     * Attaches a new red node as the left (comparison < 0) or right child of
+     * the given parent, or as the root if the parent is null, and restores
+     * the red-black properties.
+     */
+    private void insertLeaf(Node<K, V> parent, int comparison, K key,
+                            V value) {
+        Node<K, V> z = new Node<>(key, value);
+        z.red = true;
+        z.parent = parent;
+        if (parent == null) {
+            root = z;
+        } else if (comparison < 0) {
+            parent.left = z;
+        } else {
+            parent.right = z;
+        }
+        size++;
+        insertFixup(z);
+    }
+
+    private void insertFixup(Node<K, V> z) {
+        while (isRed(z.parent)) {
+            Node<K, V> parent = z.parent, grandparent = parent.parent;
+            if (parent == grandparent.left) {
+                Node<K, V> uncle = grandparent.right;
+                if (isRed(uncle)) {
+                    // Push the grandparent's blackness down a level.
+                    parent.red = false;
+                    uncle.red = false;
+                    grandparent.red = true;
+                    z = grandparent;
+                    continue;
+                }
+                if (z == parent.right) {
+                    z = parent;
+                    rotateLeft(z);
+                    parent = z.parent;
+                }
+                parent.red = false;
+                grandparent.red = true;
+                rotateRight(grandparent);
+            } else {
+                Node<K, V> uncle = grandparent.left;
+                if (isRed(uncle)) {
+                    parent.red = false;
+                    uncle.red = false;
+                    grandparent.red = true;
+                    z = grandparent;
+                    continue;
+                }
+                if (z == parent.left) {
+                    z = parent;
+                    rotateRight(z);
+                    parent = z.parent;
+                }
+                parent.red = false;
+                grandparent.red = true;
+                rotateLeft(grandparent);
+            }
+        }
+        root.red = false;
+    }
+
+    /**
+     * Removes the mapping for a key from this map if it is present. The node
+     * is unlinked as in BSTMap; if that removed a black node, the red-black
+     * properties are restored starting from the node that took its place.
+     * @param key key whose mapping is to be removed from the map
+     * @return the previous value associated with key, or null if there was no
+     *         mapping for key
+     */
+    @Override
+    public V remove(K key) {
+        Node<K, V> z = iterativeSearch(key);
+        if (z == null) {
+            return null;
+        }
+        // x moves into the place of the removed node and may be null, so its
+        // parent is tracked separately.
+        Node<K, V> x, xParent;
+        boolean removedBlack = !z.red;
+        if (z.left == null || z.right == null) {
+            x = z.left != null ? z.left : z.right;
+            xParent = z.parent;
+            transplant(z, x);
+        } else {
+            Node<K, V> y = treeMinimum(z.right);
+            removedBlack = !y.red;
+            x = y.right;
+            if (y.parent == z) {
+                xParent = y;
+            } else {
+                xParent = y.parent;
+                transplant(y, y.right);
+                y.right = z.right;
+                y.right.parent = y;
+            }
+            transplant(z, y);
+            y.left = z.left;
+            y.left.parent = y;
+            y.red = z.red;
+        }
+        size--;
+        if (removedBlack) {
+            removeFixup(x, xParent);
+        }
+        return z.value;
+    }
+
+    /**
+     * Restores the red-black properties after a black node was removed from
+     * above x, whose paths are now one black node short.
+     */
+    private void removeFixup(Node<K, V> x, Node<K, V> parent) {
+        while (x != root && !isRed(x)) {
+            if (x == parent.left) {
+                Node<K, V> sibling = parent.right;
+                if (isRed(sibling)) {
+                    sibling.red = false;
+                    parent.red = true;
+                    rotateLeft(parent);
+                    sibling = parent.right;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.red = true;
+                    x = parent;
+                    parent = x.parent;
+                    continue;
+                }
+                if (!isRed(sibling.right)) {
+                    sibling.left.red = false;
+                    sibling.red = true;
+                    rotateRight(sibling);
+                    sibling = parent.right;
+                }
+                sibling.red = parent.red;
+                parent.red = false;
+                sibling.right.red = false;
+                rotateLeft(parent);
+            } else {
+                Node<K, V> sibling = parent.left;
+                if (isRed(sibling)) {
+                    sibling.red = false;
+                    parent.red = true;
+                    rotateRight(parent);
+                    sibling = parent.left;
+                }
+                if (!isRed(sibling.left) && !isRed(sibling.right)) {
+                    sibling.red = true;
+                    x = parent;
+                    parent = x.parent;
+                    continue;
+                }
+                if (!isRed(sibling.left)) {
+                    sibling.right.red = false;
+                    sibling.red = true;
+                    rotateLeft(sibling);
+                    sibling = parent.left;
+                }
+                sibling.red = parent.red;
+                parent.red = false;
+                sibling.left.red = false;
+                rotateRight(parent);
+            }
+            x = root;
+        }
+        if (x != null) {
+            x.red = false;
+        }
+    }
+
+    private static boolean isRed(Node<?, ?> n) {
+        return n != null && n.red;
+    }
+
+    /**
+     * Rotates x with its right child, which takes x's place under x's parent
+     * (or as the root).
+     */
+    private void rotateLeft(Node<K, V> x) {
+        Node<K, V> y = x.right;
+        transplant(x, y);
+        x.right = y.left;
+        if (y.left != null) {
+            y.left.parent = x;
+        }
+        y.left = x;
+        x.parent = y;
+    }
+
+    /**
+     * Rotates x with its left child, which takes x's place under x's parent
+     * (or as the root).
+     */
+    private void rotateRight(Node<K, V> x) {
+        Node<K, V> y = x.left;
+        transplant(x, y);
+        x.left = y.right;
+        if (y.right != null) {
+            y.right.parent = x;
+        }
+        y.right = x;
+        x.parent = y;
+    }
+
+    public static void main(String[] args) {
+        boolean usingInts = true;
+        if (args.length > 0) {
+            try {
+                Integer.parseInt(args[0]);
+            } catch (NumberFormatException nfe) {
+                usingInts = false;
+            }
+        }
+
+        RedBlackTreeMap<?, ?> rbTree;
+        if (usingInts) {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Pair<Integer, Integer>[] pairs = new Pair[args.length];
+            for (int i = 0; i < args.length; i++) {
+                try {
+                    int val = Integer.parseInt(args[i]);
+                    pairs[i] = new Pair<>(val, val);
+                } catch (NumberFormatException nfe) {
+                    System.err.println("Error: Invalid integer '" + args[i]
+                            + "' found at index " + i + ".");
+                    System.exit(1);
+                }
+            }
+            rbTree = new RedBlackTreeMap<>(pairs);
+        } else {
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Pair<String, String>[] pairs = new Pair[args.length];
+            for (int i = 0; i < args.length; i++) {
+                pairs[i] = new Pair<>(args[i], args[i]);
+            }
+            rbTree = new RedBlackTreeMap<>(pairs);
+        }
+
+        System.out.println(rbTree.toAsciiDrawing());
+        System.out.println();
+        System.out.println("Height:                   " + rbTree.height());
+        System.out.println("Total nodes:              " + rbTree.size());
+        System.out.printf("Successful search cost:   %.3f\n",
+                rbTree.successfulSearchCost());
+        System.out.printf("Unsuccessful search cost: %.3f\n",
+                rbTree.unsuccessfulSearchCost());
+        rbTree.printTraversal(PREORDER);
+        rbTree.printTraversal(INORDER);
+        rbTree.printTraversal(POSTORDER);
+    }
+}
@@ -0,0 +1,81 @@
+import java.util.Arrays;
+
+/**
+ * Class that computes the canonical anagram key (signature) of a word: its
+ * characters converted to lowercase and sorted in ascending order. Words made
+ * only of ASCII characters are keyed in O(n) with a counting sort over a
+ * letter histogram. Other words fall back to sorting the characters in place.
+ * <p>
+ * The histogram and the character buffer are reused from word to word, so the
+ * only allocation per call is the returned key String. An engine is therefore
+ * not thread-safe; use one per thread, e.g. via forCurrentThread().
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class SignatureEngine {
+    private static final int ALPHABET_SIZE = 128;
+    private static final ThreadLocal<SignatureEngine> ENGINES =
+            ThreadLocal.withInitial(SignatureEngine::new);
+
+    private final int[] counts = new int[ALPHABET_SIZE];
+    private char[] scratch = new char[32];
+
+    /**
+     * Returns the SignatureEngine owned by the calling thread.
+     * @return the SignatureEngine owned by the calling thread
+     */
+    public static SignatureEngine forCurrentThread() {
+        return ENGINES.get();
+    }
+
+    /**
+     * Returns the signature of the given word.
+     * @param word the word to key
+     * @return the lowercase characters of the word in ascending order
+     */
+    public String signature(CharSequence word) {
+        return signature(word, 0, word.length());
+    }
+
+    /**
+     * Returns the signature of the characters in [start, end) of the given
+     * sequence, without extracting them into a String first.
+     * @param text  the sequence containing the word
+     * @param start the index of the first character of the word
+     * @param end   the index after the last character of the word
+     * @return the lowercase characters of the word in ascending order
+     */
+    public String signature(CharSequence text, int start, int end) {
+        int n = end - start;
+        if (n > scratch.length) {
+            scratch = new char[Math.max(n, scratch.length * 2)];
+        }
+        int min = ALPHABET_SIZE, max = -1;
+        boolean ascii = true;
+        for (int i = 0; i < n; i++) {
+            char c = Character.toLowerCase(text.charAt(start + i));
+            if (c >= ALPHABET_SIZE) {
+                ascii = false;
+            } else {
+                min = Math.min(min, c);
+                max = Math.max(max, c);
+            }
+            scratch[i] = c;
+        }
+        if (!ascii) {
+            Arrays.sort(scratch, 0, n); // in place, no extra allocation
+            return new String(scratch, 0, n);
+        }
+        for (int i = 0; i < n; i++) {
+            counts[scratch[i]]++;
+        }
+        int k = 0;
+        for (int c = min; c <= max; c++) {
+            for (int count = counts[c]; count > 0; count--) {
+                scratch[k++] = (char)c;
+            }
+            counts[c] = 0; // leave the histogram clean for the next word
+        }
+        return new String(scratch, 0, n);
+    }
+}
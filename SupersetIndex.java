@@ -0,0 +1,192 @@
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * Inverted index answering superset queries over the anagram groups of a
+ * finished signature to anagram-group map: which signatures contain every
+ * letter of a query, each at least as often, plus at most a given number of
+ * extra letters.
+ * <p>
+ * The signatures are numbered by increasing length, so a cap on the extra
+ * letters is a contiguous range of ids. For every character c and count j
+ * occurring in the signatures there is a bitset of the signatures holding at
+ * least j copies of c. A query intersects one bitset per distinct letter,
+ * rarest first, over the id range of the allowed lengths, 64 signatures per
+ * step, and skips a step as soon as its word of the intersection is empty.
+ * @author Paikea Barricklow; cpb2162
+ * @version 1.0.0 October 16, 2026
+ */
+public class SupersetIndex {
+    private final String[] signatures;
+    private final MyList<String>[] groups;
+    // lengthStart[len] is the first id of a signature of at least len
+    // characters.
+    private final int[] lengthStart;
+    // codes[c] is the index of character c in atLeast, or -1.
+    private final int[] codes;
+    // atLeast[code][j - 1] is the bitset of the signatures with at least j
+    // copies of the character, and cardinalities holds its size.
+    private final long[][][] atLeast;
+    private final int[][] cardinalities;
+
+    /**
+     * Builds the index from the mappings of the given map, which is not
+     * modified. The groups are stored as they are.
+     * @param map the map of signatures to their anagram groups
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public SupersetIndex(MyMap<String, MyList<String>> map) {
+        int n = map.size();
+        String[] keys = new String[n];
+        MyList<String>[] values = new MyList[n];
+        int[] count = new int[1];
+        int[] maxLength = new int[1];
+        map.forEach((signature, anagrams) -> {
+            keys[count[0]] = signature;
+            values[count[0]++] = anagrams;
+            maxLength[0] = Math.max(maxLength[0], signature.length());
+        });
+
+        // Counting sort of the signatures by length.
+        lengthStart = new int[maxLength[0] + 2];
+        for (String signature : keys) {
+            lengthStart[signature.length() + 1]++;
+        }
+        for (int len = 0; len <= maxLength[0]; len++) {
+            lengthStart[len + 1] += lengthStart[len];
+        }
+        signatures = new String[n];
+        groups = new MyList[n];
+        int[] next = Arrays.copyOf(lengthStart, lengthStart.length);
+        for (int i = 0; i < n; i++) {
+            int id = next[keys[i].length()]++;
+            signatures[id] = keys[i];
+            groups[id] = values[i];
+        }
+
+        // The most copies of each character in any one signature.
+        int[] maxCounts = new int[Character.MAX_VALUE + 1];
+        int maxChar = -1;
+        for (String signature : signatures) {
+            for (int i = 0; i < signature.length(); ) {
+                char c = signature.charAt(i);
+                int end = runEnd(signature, i);
+                maxCounts[c] = Math.max(maxCounts[c], end - i);
+                maxChar = Math.max(maxChar, c);
+                i = end;
+            }
+        }
+        codes = new int[maxChar + 1];
+        int alphabetSize = 0;
+        for (int c = 0; c <= maxChar; c++) {
+            codes[c] = maxCounts[c] == 0 ? -1 : alphabetSize++;
+        }
+        atLeast = new long[alphabetSize][][];
+        cardinalities = new int[alphabetSize][];
+        int words = (n + 63) >>> 6;
+        for (int c = 0; c <= maxChar; c++) {
+            if (codes[c] >= 0) {
+                atLeast[codes[c]] = new long[maxCounts[c]][words];
+                cardinalities[codes[c]] = new int[maxCounts[c]];
+            }
+        }
+        for (int id = 0; id < n; id++) {
+            String signature = signatures[id];
+            for (int i = 0; i < signature.length(); ) {
+                int code = codes[signature.charAt(i)];
+                int end = runEnd(signature, i);
+                for (int j = 0; j < end - i; j++) {
+                    atLeast[code][j][id >>> 6] |= 1L << id;
+                    cardinalities[code][j]++;
+                }
+                i = end;
+            }
+        }
+    }
+
+    /**
+     * Returns the index after the run of equal characters starting at i.
+     */
+    private static int runEnd(String s, int i) {
+        char c = s.charAt(i);
+        int end = i + 1;
+        while (end < s.length() && s.charAt(end) == c) {
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Returns the number of signatures in the index.
+     * @return the number of signatures in the index
+     */
+    public int size() {
+        return signatures.length;
+    }
+
+    /**
+     * Performs the given action for each signature that contains every
+     * character of the given signature at least as often, and has at most
+     * maxExtra more characters, along with its anagram group. Signatures are
+     * visited by increasing length, and in the iteration order of the source
+     * map within a length.
+     * @param signature the sorted characters the signatures must contain
+     * @param maxExtra  the maximum number of additional characters, or
+     *                  Integer.MAX_VALUE for no maximum
+     * @param action    the action to be performed for each match
+     */
+    public void forEachSuperset(String signature, int maxExtra,
+            BiConsumer<? super String, ? super MyList<String>> action) {
+        int maxLength = lengthStart.length - 2;
+        int length = signature.length();
+        if (length > maxLength || maxExtra < 0) {
+            return;
+        }
+        int from = lengthStart[length];
+        int to = lengthStart[(int)Math.min(maxLength, (long)length + maxExtra)
+                + 1];
+
+        // Only the highest count of each letter matters, since the bitset
+        // for j copies is contained in the one for fewer.
+        long[][] required = new long[length][];
+        int[] sizes = new int[length];
+        int numRequired = 0;
+        for (int i = 0; i < length; ) {
+            char c = signature.charAt(i);
+            int end = runEnd(signature, i);
+            int code = c < codes.length ? codes[c] : -1;
+            if (code < 0 || end - i > atLeast[code].length) {
+                return; // no signature has that many copies
+            }
+            // Insertion by size, so the rarest bitset is applied first.
+            int size = cardinalities[code][end - i - 1];
+            int k = numRequired++;
+            while (k > 0 && sizes[k - 1] > size) {
+                required[k] = required[k - 1];
+                sizes[k] = sizes[k - 1];
+                k--;
+            }
+            required[k] = atLeast[code][end - i - 1];
+            sizes[k] = size;
+            i = end;
+        }
+
+        for (int w = from >>> 6; from < to && w <= (to - 1) >>> 6; w++) {
+            long bits = -1L;
+            if (w == from >>> 6) {
+                bits &= -1L << from;
+            }
+            if (w == (to - 1) >>> 6) {
+                bits &= -1L >>> (63 - ((to - 1) & 63));
+            }
+            for (int r = 0; r < numRequired && bits != 0; r++) {
+                bits &= required[r][w];
+            }
+            while (bits != 0) {
+                int id = (w << 6) + Long.numberOfTrailingZeros(bits);
+                action.accept(signatures[id], groups[id]);
+                bits &= bits - 1;
+            }
+        }
+    }
+}